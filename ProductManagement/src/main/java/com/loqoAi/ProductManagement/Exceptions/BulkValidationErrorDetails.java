@@ -0,0 +1,21 @@
+package com.loqoAi.ProductManagement.Exceptions;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+class BulkValidationErrorDetails extends ErrorDetails {
+    private int rejectedCount;
+    private List<String> rejections;
+
+    public BulkValidationErrorDetails(Date timestamp, String message, String details, int rejectedCount,
+                                      List<String> rejections) {
+        super(timestamp, message, details);
+        this.rejectedCount = rejectedCount;
+        this.rejections = rejections;
+    }
+}
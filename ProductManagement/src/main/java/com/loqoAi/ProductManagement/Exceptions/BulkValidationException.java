@@ -0,0 +1,32 @@
+package com.loqoAi.ProductManagement.Exceptions;
+
+import java.util.List;
+
+/**
+ * A bulk upload was rejected because some of its products are invalid.
+ */
+public class BulkValidationException extends BadRequestException {
+
+    private final int rejectedCount;
+    private final List<String> rejections;
+
+    /**
+     * @param message The summary message.
+     * @param rejectedCount The number of invalid products.
+     * @param rejections One line per invalid product ("row n: violations"), possibly
+     *        fewer than {@code rejectedCount}.
+     */
+    public BulkValidationException(String message, int rejectedCount, List<String> rejections) {
+        super(message);
+        this.rejectedCount = rejectedCount;
+        this.rejections = List.copyOf(rejections);
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public List<String> getRejections() {
+        return rejections;
+    }
+}
@@ -1,11 +1,13 @@
 package com.loqoAi.ProductManagement.Exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.Date;
 
 @ControllerAdvice
@@ -28,4 +30,30 @@ public class GlobalExceptionHandler {
         ErrorDetails errorDetails = new ErrorDetails(new Date(), ex.getMessage(), request.getDescription(false));
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
+
+    @ExceptionHandler(BulkValidationException.class)
+    public ResponseEntity<?> bulkValidationException(BulkValidationException ex, WebRequest request) {
+        ErrorDetails errorDetails = new BulkValidationErrorDetails(new Date(), ex.getMessage(), request.getDescription(false),
+                ex.getRejectedCount(), ex.getRejections());
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> tooManyRequestsException(TooManyRequestsException ex, WebRequest request) {
+        return rejected(ex.getMessage(), ex.getRetryAfter(), HttpStatus.TOO_MANY_REQUESTS, request);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> serviceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+        return rejected(ex.getMessage(), ex.getRetryAfter(), HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
+    // Retry-After is in whole seconds; round up so clients never retry too early.
+    private ResponseEntity<?> rejected(String message, Duration retryAfter, HttpStatus status, WebRequest request) {
+        ErrorDetails errorDetails = new ErrorDetails(new Date(), message, request.getDescription(false));
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+                .body(errorDetails);
+    }
 }
@@ -0,0 +1,20 @@
+package com.loqoAi.ProductManagement.Exceptions;
+
+import java.time.Duration;
+
+/**
+ * The server is shedding load; answered with 503 and Retry-After.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
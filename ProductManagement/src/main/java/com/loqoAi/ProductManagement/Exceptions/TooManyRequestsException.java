@@ -0,0 +1,20 @@
+package com.loqoAi.ProductManagement.Exceptions;
+
+import java.time.Duration;
+
+/**
+ * The client exceeded its request rate; answered with 429 and Retry-After.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
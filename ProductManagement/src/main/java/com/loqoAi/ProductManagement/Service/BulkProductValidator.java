@@ -0,0 +1,130 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.loqoAi.ProductManagement.Exceptions.BulkValidationException;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductKey;
+
+/**
+ * Checks bulk payloads against the constraints of {@link Product} before any
+ * database work, in one pass and without going through Bean Validation.
+ *
+ * The rules and messages are those of the annotations on {@link Product}; keep the
+ * two in sync.
+ */
+public final class BulkProductValidator {
+
+    // Rejections listed in an error response; the count covers all of them.
+    static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private BulkProductValidator() {
+    }
+
+    /**
+     * Validates a whole payload and splits off repeats of a (name, category) pair.
+     *
+     * @param products The uploaded products.
+     * @return The first occurrence of every key, and the repeats, both in input order.
+     * @throws BulkValidationException If any product breaks a constraint, listing the
+     *         rows (1-based) and their violations.
+     */
+    public static Result validate(List<Product> products) {
+        Set<ProductKey> keys = new HashSet<>((int) (products.size() / 0.75f) + 1);
+        // Both stay null until the first repeat; until then the unique products are a prefix of the input.
+        List<Product> unique = null;
+        List<Product> repeated = null;
+        List<String> rejections = null;
+        int rejected = 0;
+
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            String violations = check(product);
+            if (violations != null) {
+                if (rejections == null) {
+                    rejections = new ArrayList<>();
+                }
+                if (rejected++ < MAX_REPORTED_REJECTIONS) {
+                    rejections.add("row " + (i + 1) + ": " + violations);
+                }
+            } else if (rejections == null) {
+                if (keys.add(ProductKey.of(product).normalized())) {
+                    if (unique != null) {
+                        unique.add(product);
+                    }
+                } else {
+                    if (unique == null) {
+                        unique = new ArrayList<>(products.subList(0, i));
+                        repeated = new ArrayList<>();
+                    }
+                    repeated.add(product);
+                }
+            }
+        }
+
+        if (rejections != null) {
+            throw new BulkValidationException(rejected + " of " + products.size() + " products failed validation.",
+                    rejected, rejections);
+        }
+        return unique == null ? new Result(products, List.of()) : new Result(unique, repeated);
+    }
+
+    /**
+     * Checks one product against every constraint.
+     *
+     * @param product The product to be checked.
+     * @return Null if the product is valid, otherwise its violation messages in
+     *         alphabetical order, comma separated.
+     */
+    public static String check(Product product) {
+        boolean nameBlank = isBlank(product.getName());
+        boolean categoryBlank = isBlank(product.getCategory());
+        // Written so that NaN fails, as with @Positive.
+        boolean priceInvalid = !(product.getPrice() > 0);
+        boolean ratingInvalid = !(product.getRating() > 0);
+        if (!nameBlank && !categoryBlank && !priceInvalid && !ratingInvalid) {
+            return null;
+        }
+
+        StringBuilder violations = new StringBuilder();
+        append(violations, categoryBlank, "Category is mandatory");
+        append(violations, nameBlank, "Name is mandatory");
+        append(violations, priceInvalid, "Price must be positive");
+        append(violations, ratingInvalid, "Rating must be positive");
+        return violations.toString();
+    }
+
+    private static void append(StringBuilder violations, boolean violated, String message) {
+        if (violated) {
+            if (violations.length() > 0) {
+                violations.append(", ");
+            }
+            violations.append(message);
+        }
+    }
+
+    // Same rule as @NotBlank: null, or nothing but characters up to and including space.
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A validated payload.
+     *
+     * @param unique The first product of every (name, category) pair.
+     * @param repeated Later products with a pair already seen in the payload.
+     */
+    public record Result(List<Product> unique, List<Product> repeated) {
+    }
+}
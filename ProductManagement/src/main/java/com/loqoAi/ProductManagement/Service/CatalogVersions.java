@@ -0,0 +1,156 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+
+/**
+ * Monotonic version numbers of the catalog, one global and one per category, bumped
+ * after every write. A listing only changes when the version it depends on changes,
+ * so the version doubles as a strong ETag.
+ *
+ * Writes of this instance bump the versions through {@link ProductsChangedEvent}.
+ * Writes of other instances sharing the database are found by reading the highest
+ * product id at most once per {@code products.catalog.check-interval}; products are
+ * only ever inserted, so any write raises it. When it has moved, the categories of the
+ * new rows are read, their entries of {@link ProductQueryCache} dropped and their
+ * versions bumped. The in-memory indexes only learn this instance's writes, so they
+ * should stay disabled when several instances write.
+ *
+ * Only categories that have been written since startup have a version; any other
+ * category is at version zero, so requests for unknown categories keep no state.
+ * Versions live in this process and restart from zero, so the ETag also carries the
+ * time the process started.
+ */
+@Component
+public class CatalogVersions {
+
+    private static final long UNKNOWN = -1;
+
+    private final String started = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong resets = new AtomicLong();
+    private volatile String epoch = started;
+    private final AtomicLong global = new AtomicLong();
+    private final Map<String, AtomicLong> categories = new ConcurrentHashMap<>();
+    // Highest product id last read from the database, and when.
+    private final AtomicReference<Checked> checked = new AtomicReference<>(new Checked(UNKNOWN, 0));
+
+    @Autowired(required = false)
+    private ProductRepository productRepository;
+
+    @Autowired(required = false)
+    private ProductQueryCache productQueryCache;
+
+    @Autowired(required = false)
+    private ReplicaLagWindow replicaLagWindow;
+
+    @Value("${products.catalog.check-interval:1s}")
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    // Runs after the caches and indexes have taken the write in, so a reader that sees the new
+    // version also sees the new data; one that sees the old version may get new data under it,
+    // which only costs one extra 200 later.
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        for (String category : event.categories()) {
+            bump(category);
+        }
+        global.incrementAndGet();
+    }
+
+    public long globalVersion() {
+        return global.get();
+    }
+
+    public long categoryVersion(String category) {
+        AtomicLong version = categories.get(category);
+        return version != null ? version.get() : 0;
+    }
+
+    /**
+     * Returns the ETag of listings restricted to the given category, or of listings
+     * over the whole catalog when the category is null.
+     */
+    public String etag(String category) {
+        return "\"" + version(category) + "\"";
+    }
+
+    /**
+     * Returns the ETag of one representation of those listings, such as {@code json}. The
+     * representations of a version differ byte for byte, so each needs its own strong ETag.
+     */
+    public String etag(String category, String representation) {
+        return "\"" + version(category) + "-" + representation + "\"";
+    }
+
+    private String version(String category) {
+        checkDatabase();
+        if (category == null) {
+            return epoch + "-" + globalVersion();
+        }
+        return epoch + "-c" + categoryVersion(category);
+    }
+
+    private void checkDatabase() {
+        if (productRepository == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        Checked last = checked.get();
+        if (last.maxId() != UNKNOWN && now - last.at() < checkInterval.toNanos()) {
+            return;
+        }
+        // One request per interval reads the database; the others go on with the current version.
+        Checked claim = new Checked(last.maxId(), now);
+        if (!checked.compareAndSet(last, claim)) {
+            return;
+        }
+
+        Long found = productRepository.findMaxId();
+        long maxId = found != null ? found : 0;
+        if (last.maxId() != UNKNOWN && maxId != last.maxId()) {
+            // Written since the last check, by this instance or another: drop what was cached before
+            // bumping the versions, and reload it from the primary in case the replica has not caught up.
+            // A write of this instance is bumped a second time here, which costs one extra 200.
+            if (replicaLagWindow != null) {
+                replicaLagWindow.open();
+            }
+            if (maxId > last.maxId()) {
+                Set<String> written = Set.copyOf(productRepository.findCategoriesByIdGreaterThan(last.maxId()));
+                if (productQueryCache != null) {
+                    productQueryCache.invalidateCategories(written);
+                }
+                written.forEach(this::bump);
+            } else {
+                // Rows were deleted outside the application; which categories is not known, so every
+                // ETag changes.
+                if (productQueryCache != null) {
+                    productQueryCache.invalidateAll();
+                }
+                epoch = started + "r" + resets.incrementAndGet();
+            }
+            global.incrementAndGet();
+        }
+        checked.compareAndSet(claim, new Checked(maxId, now));
+    }
+
+    private void bump(String category) {
+        categories.computeIfAbsent(category, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private record Checked(long maxId, long at) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.loqoAi.ProductManagement.Exceptions.BulkValidationException;
+import com.loqoAi.ProductManagement.model.BulkSaveResult;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductKey;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bulk upload that writes partitions of the payload concurrently, each worker on its
+ * own connection and transactions.
+ *
+ * Products are partitioned by the hash of their (name, category) key, so every
+ * occurrence of a key lands in the same partition and workers never race on the
+ * same duplicate check. Within a partition, chunks are saved in input order through
+ * {@link ProductService#saveChunk}, so the first occurrence of a key is the one saved,
+ * as with {@link ProductService#saveAll}.
+ */
+@Component
+public class ParallelProductImporter {
+
+    private static final int MAX_LOCK_ATTEMPTS = 5;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductMetrics productMetrics;
+
+    @Value("${products.bulk.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    private final int parallelism;
+    private final ThreadPoolExecutor executor;
+
+    public ParallelProductImporter(@Value("${products.bulk.parallelism:4}") int parallelism,
+                                   @Value("${products.bulk.queue-capacity:64}") int queueCapacity) {
+        this.parallelism = Math.max(1, parallelism);
+        // A full queue runs the partition on the submitting thread, which slows
+        // down callers instead of queueing without bound.
+        this.executor = new ThreadPoolExecutor(this.parallelism, this.parallelism, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new CustomizableThreadFactory("bulk-import-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Bulk uploads multiple products using up to {@code products.bulk.parallelism}
+     * concurrent workers.
+     *
+     * @param products A list of products to be uploaded.
+     * @return A map containing lists of saved and existing products, in input order.
+     * @throws BulkValidationException If any product is invalid; nothing is saved.
+     */
+    public Map<String, List<Product>> saveAll(List<Product> products) {
+        // Repeats within the payload are never sent to a worker; they end up as existing below.
+        BulkProductValidator.Result validated = BulkProductValidator.validate(products);
+        List<Product> unique = validated.unique();
+        productMetrics.recordBulkRows(0, validated.repeated().size());
+
+        // More partitions than workers, so one large partition does not leave the others idle.
+        int partitionCount = Math.min(parallelism * 4, Math.max(1, unique.size() / Math.max(1, chunkSize)));
+        List<List<Product>> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (Product product : unique) {
+            partitions.get(partition(product, partitionCount)).add(product);
+        }
+
+        Set<Product> saved = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        List<CompletableFuture<Void>> futures = new ArrayList<>(partitionCount);
+        for (List<Product> partition : partitions) {
+            if (!partition.isEmpty()) {
+                futures.add(CompletableFuture.runAsync(() -> savePartition(partition, saved), executor));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        List<Product> savedProducts = new ArrayList<>(saved.size());
+        List<Product> existingProducts = new ArrayList<>(products.size() - saved.size());
+        for (Product product : products) {
+            (saved.contains(product) ? savedProducts : existingProducts).add(product);
+        }
+        return Map.of("savedProducts", savedProducts, "existingProducts", existingProducts);
+    }
+
+    private void savePartition(List<Product> partition, Set<Product> saved) {
+        int size = Math.max(1, chunkSize);
+        for (int from = 0; from < partition.size(); from += size) {
+            List<Product> chunk = partition.subList(from, Math.min(from + size, partition.size()));
+            saved.addAll(saveChunk(chunk).getSavedProducts());
+        }
+    }
+
+    private BulkSaveResult saveChunk(List<Product> chunk) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return productService.saveChunk(chunk);
+            } catch (PessimisticLockingFailureException e) {
+                // Deadlock or lock wait timeout: the chunk's transaction was rolled back as a whole.
+                if (attempt >= MAX_LOCK_ATTEMPTS) {
+                    throw e;
+                }
+                backOff(attempt);
+            }
+        }
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep((long) (10 * Math.pow(2, attempt) * (0.5 + Math.random())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a bulk upload chunk", e);
+        }
+    }
+
+    private static int partition(Product product, int partitionCount) {
+        // Keys the unique index takes for equal go to the same worker.
+        return Math.floorMod(ProductKey.of(product).normalized().hashCode(), partitionCount);
+    }
+}
@@ -0,0 +1,327 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.model.Product;
+
+/**
+ * Compact columnar encoding of a list of products, for internal clients that do not need JSON.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int     magic "PRDC"
+ * byte    version (1)
+ * varint  row count n
+ * varint  category dictionary size, then each category as a string
+ * id          presence bitmap, then zigzag varint deltas of the present ids
+ * name        n strings
+ * category    n varints: dictionary index + 1, 0 for null
+ * price       n doubles
+ * inStock     bitmap
+ * rating      n doubles
+ * createdAt   presence bitmap, then zigzag varint deltas of the present epoch millis
+ * </pre>
+ * A string is a varint of its UTF-8 length + 1 (0 for null) followed by the bytes; a
+ * bitmap holds n bits, lowest bit first. Rows are written through pooled 64 KiB
+ * buffers straight to the output stream.
+ */
+public final class ProductBinaryCodec {
+
+    public static final String MEDIA_TYPE = "application/x-products-columnar";
+
+    static final int MAGIC = 0x50524443;
+    static final byte VERSION = 1;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final BlockingQueue<byte[]> BUFFERS = new ArrayBlockingQueue<>(32);
+
+    private ProductBinaryCodec() {
+    }
+
+    /**
+     * Encodes the products to the stream. The stream is flushed but not closed.
+     */
+    public static void write(List<Product> products, OutputStream out) throws IOException {
+        byte[] buffer = BUFFERS.poll();
+        if (buffer == null) {
+            buffer = new byte[BUFFER_SIZE];
+        }
+        try {
+            Writer writer = new Writer(buffer, out);
+            writeColumns(products, writer);
+            writer.flush();
+        } finally {
+            BUFFERS.offer(buffer);
+        }
+    }
+
+    /**
+     * Decodes products written by {@link #write}, starting at the buffer's position.
+     *
+     * @throws BadRequestException If the data is not in this format or is truncated.
+     */
+    public static List<Product> read(ByteBuffer buffer) {
+        try {
+            return readColumns(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new BadRequestException("Malformed product payload.", e);
+        }
+    }
+
+    private static void writeColumns(List<Product> products, Writer writer) throws IOException {
+        int rows = products.size();
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> categories = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getCategory() != null && dictionary.putIfAbsent(product.getCategory(), categories.size()) == null) {
+                categories.add(product.getCategory());
+            }
+        }
+
+        writer.writeInt(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeVarint(rows);
+        writer.writeVarint(categories.size());
+        for (String category : categories) {
+            writer.writeString(category);
+        }
+
+        writer.writeBitmap(rows, i -> products.get(i).getId() != null);
+        long previous = 0;
+        for (Product product : products) {
+            if (product.getId() != null) {
+                writer.writeVarint(zigzag(product.getId() - previous));
+                previous = product.getId();
+            }
+        }
+        for (Product product : products) {
+            writer.writeString(product.getName());
+        }
+        for (Product product : products) {
+            writer.writeVarint(product.getCategory() == null ? 0 : dictionary.get(product.getCategory()) + 1);
+        }
+        for (Product product : products) {
+            writer.writeDouble(product.getPrice());
+        }
+        writer.writeBitmap(rows, i -> products.get(i).isInStock());
+        for (Product product : products) {
+            writer.writeDouble(product.getRating());
+        }
+        writer.writeBitmap(rows, i -> products.get(i).getCreatedAt() != null);
+        previous = 0;
+        for (Product product : products) {
+            if (product.getCreatedAt() != null) {
+                long millis = product.getCreatedAt().getTime();
+                writer.writeVarint(zigzag(millis - previous));
+                previous = millis;
+            }
+        }
+    }
+
+    private static List<Product> readColumns(ByteBuffer buffer) {
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a product payload");
+        }
+        if (buffer.get() != VERSION) {
+            throw new IllegalArgumentException("Unsupported version");
+        }
+        int rows = readCount(buffer);
+        String[] categories = new String[readCount(buffer)];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = readString(buffer);
+        }
+
+        List<Product> products = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            products.add(new Product());
+        }
+
+        boolean[] hasId = readBitmap(buffer, rows);
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            if (hasId[i]) {
+                previous += unzigzag(readVarint(buffer));
+                products.get(i).setId(previous);
+            }
+        }
+        for (Product product : products) {
+            product.setName(readString(buffer));
+        }
+        for (Product product : products) {
+            int index = (int) readVarint(buffer);
+            if (index > categories.length) {
+                throw new IllegalArgumentException("Unknown category index");
+            }
+            product.setCategory(index == 0 ? null : categories[index - 1]);
+        }
+        for (Product product : products) {
+            product.setPrice(buffer.getDouble());
+        }
+        boolean[] inStock = readBitmap(buffer, rows);
+        for (int i = 0; i < rows; i++) {
+            products.get(i).setInStock(inStock[i]);
+        }
+        for (Product product : products) {
+            product.setRating(buffer.getDouble());
+        }
+        boolean[] hasCreatedAt = readBitmap(buffer, rows);
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            if (hasCreatedAt[i]) {
+                previous += unzigzag(readVarint(buffer));
+                products.get(i).setCreatedAt(new Date(previous));
+            }
+        }
+        return products;
+    }
+
+    private static int readCount(ByteBuffer buffer) {
+        long count = readVarint(buffer);
+        // Every row takes at least one byte, so a count larger than the data is corrupt.
+        if (count > buffer.remaining()) {
+            throw new IllegalArgumentException("Count exceeds payload");
+        }
+        return (int) count;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        long length = readVarint(buffer);
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[(int) (length - 1)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean[] readBitmap(ByteBuffer buffer, int rows) {
+        boolean[] bits = new boolean[rows];
+        for (int i = 0; i < rows; i += 8) {
+            int b = buffer.get();
+            for (int bit = 0; bit < 8 && i + bit < rows; bit++) {
+                bits[i + bit] = (b & (1 << bit)) != 0;
+            }
+        }
+        return bits;
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint too long");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private interface RowPredicate {
+        boolean test(int row);
+    }
+
+    private static final class Writer {
+        private final byte[] buffer;
+        private final OutputStream out;
+        private int position;
+
+        Writer(byte[] buffer, OutputStream out) {
+            this.buffer = buffer;
+            this.out = out;
+        }
+
+        void writeByte(int value) throws IOException {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeInt(int value) throws IOException {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeDouble(double value) throws IOException {
+            long bits = Double.doubleToLongBits(value);
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (bits >>> shift);
+            }
+        }
+
+        void writeVarint(long value) throws IOException {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1L);
+            for (int offset = 0; offset < bytes.length; ) {
+                ensure(1);
+                int length = Math.min(bytes.length - offset, buffer.length - position);
+                System.arraycopy(bytes, offset, buffer, position, length);
+                position += length;
+                offset += length;
+            }
+        }
+
+        void writeBitmap(int rows, RowPredicate predicate) throws IOException {
+            for (int i = 0; i < rows; i += 8) {
+                int b = 0;
+                for (int bit = 0; bit < 8 && i + bit < rows; bit++) {
+                    if (predicate.test(i + bit)) {
+                        b |= 1 << bit;
+                    }
+                }
+                writeByte(b);
+            }
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, position);
+            position = 0;
+            out.flush();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (position + bytes > buffer.length) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+}
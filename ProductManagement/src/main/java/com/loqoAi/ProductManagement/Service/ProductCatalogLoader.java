@@ -0,0 +1,97 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+
+/**
+ * Reads the whole catalog for the in-memory product structures that are built at startup,
+ * from the {@link ProductCatalogSnapshot} when there is one and from the database otherwise.
+ *
+ * The catalog is read once for all of them: every batch is handed to each {@link Listener}
+ * in turn, so they share the same {@link Product} instances and no batch is kept once
+ * they have all taken it in.
+ */
+@Component
+public class ProductCatalogLoader {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired(required = false)
+    private ProductCatalogSnapshot productCatalogSnapshot;
+
+    @Autowired
+    private ObjectProvider<Listener> listeners;
+
+    @Value("${products.catalog.load-batch-size:10000}")
+    private int batchSize = 10000;
+
+    /**
+     * Loads the catalog into every enabled structure once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Listener> targets = listeners.orderedStream().toList();
+        if (targets.isEmpty()) {
+            return;
+        }
+        forEachBatch(batch -> {
+            for (Listener target : targets) {
+                target.loadBatch(batch);
+            }
+        });
+        for (Listener target : targets) {
+            target.loadComplete();
+        }
+    }
+
+    /**
+     * Reads every product in id order, one batch at a time, so the whole table is
+     * never held in memory at once. With a snapshot, only the products added after
+     * it are read from the database.
+     * 
+     * @param consumer Receives each batch.
+     * @return The highest id read, or 0 if the catalog is empty.
+     */
+    public long forEachBatch(Consumer<List<Product>> consumer) {
+        long lastId = productCatalogSnapshot == null ? 0 : productCatalogSnapshot.forEachBatch(consumer);
+        while (true) {
+            List<Product> batch = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return lastId;
+            }
+            consumer.accept(batch);
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    /**
+     * An in-memory structure built from the whole catalog at startup. Until
+     * {@link #loadComplete()}, writes may reach it both as {@link ProductsChangedEvent}s
+     * and in the batches.
+     */
+    public interface Listener {
+
+        /**
+         * Takes in one batch of the catalog, in id order. The batch is shared with the
+         * other listeners and must not be modified.
+         */
+        void loadBatch(List<Product> batch);
+
+        /**
+         * Called once every batch has been passed.
+         */
+        void loadComplete();
+    }
+}
@@ -0,0 +1,282 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * On-disk copy of the catalog that {@link ProductCatalogLoader} reads at startup
+ * instead of scanning the products table; only rows added since the snapshot are
+ * then read from the database.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int   magic "PSNP"
+ * int   version (1)
+ * long  highest product id
+ * long  row count
+ * long  time written, epoch millis
+ * long  CRC32 of everything after the header
+ * then blocks of up to products.catalog.load-batch-size rows, each an int length
+ * followed by a {@link ProductBinaryCodec} payload
+ * </pre>
+ * The file is memory-mapped and blocks are decoded straight from the mapping. Products
+ * are never updated or deleted, so a snapshot is usable as long as the database
+ * still holds exactly its row count up to its highest id; otherwise it is ignored.
+ * The file is rewritten every {@code products.snapshot.interval} and on shutdown,
+ * appending the rows added since the last write. Enabled with
+ * {@code products.snapshot.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "products.snapshot.enabled", havingValue = "true")
+public class ProductCatalogSnapshot {
+
+    static final int MAGIC = 0x50534E50;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 40;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final Path path;
+    private final int batchSize;
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream(1 << 20);
+
+    // The snapshot on disk, validated on first use; null if there is none or it was rejected.
+    private Snapshot current;
+    private boolean opened;
+
+    private MeterRegistry meterRegistry;
+    private Timer writes;
+
+    public ProductCatalogSnapshot(@Value("${products.snapshot.path:products.snapshot}") Path path,
+                                  @Value("${products.catalog.load-batch-size:10000}") int batchSize) {
+        this.path = path;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Autowired(required = false)
+    void bindMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.writes = Timer.builder("products.snapshot.writes")
+                .description("Time taken to write the catalog snapshot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Passes the products of the snapshot to the consumer, one block at a time.
+     *
+     * @param consumer Receives each block, in id order.
+     * @return The highest id in the snapshot, or 0 if there is no usable snapshot.
+     */
+    public long forEachBatch(Consumer<List<Product>> consumer) {
+        Snapshot snapshot = open();
+        if (snapshot == null) {
+            return 0;
+        }
+        for (int i = 0; i < snapshot.offsets.length; i++) {
+            consumer.accept(ProductBinaryCodec.read(snapshot.block(i)));
+        }
+        return snapshot.maxId;
+    }
+
+    /**
+     * Writes the snapshot, appending the products added since the last one. The new
+     * file replaces the old one atomically, so readers never see a partial snapshot.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    @Scheduled(initialDelayString = "${products.snapshot.interval:PT5M}",
+               fixedDelayString = "${products.snapshot.interval:PT5M}")
+    public synchronized void write() throws IOException {
+        Snapshot previous = open();
+        if (previous != null && !productRepository.existsByIdGreaterThan(previous.maxId)
+                && productRepository.countByIdLessThanEqual(previous.maxId) == previous.rows) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Snapshot written = writeBody(out, previous);
+            if (previous != null && productRepository.countByIdLessThanEqual(written.maxId) != written.rows) {
+                // A row committed below the previous highest id after that snapshot was taken.
+                out.truncate(HEADER_SIZE);
+                written = writeBody(out, null);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(written.maxId)
+                    .putLong(written.rows)
+                    .putLong(System.currentTimeMillis())
+                    .putLong(written.checksum)
+                    .flip();
+            writeFully(out, header, 0);
+            out.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        current = map();
+        if (writes != null) {
+            writes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    void writeOnShutdown() throws IOException {
+        write();
+    }
+
+    // Writes the blocks after the header: those of the previous snapshot, then the rows added since.
+    private Snapshot writeBody(FileChannel out, Snapshot previous) throws IOException {
+        CRC32 checksum = new CRC32();
+        long position = HEADER_SIZE;
+        long maxId = 0;
+        long rows = 0;
+        if (previous != null) {
+            ByteBuffer body = previous.body();
+            checksum.update(body.duplicate());
+            position += writeFully(out, body, position);
+            maxId = previous.maxId;
+            rows = previous.rows;
+        }
+        while (true) {
+            List<Product> batch = productRepository.findByIdGreaterThanOrderByIdAsc(maxId, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return new Snapshot(null, maxId, rows, checksum.getValue(), null);
+            }
+            block.reset();
+            ProductBinaryCodec.write(batch, block);
+            ByteBuffer bytes = ByteBuffer.allocate(4 + block.size()).putInt(block.size()).put(block.toByteArray()).flip();
+            checksum.update(bytes.duplicate());
+            position += writeFully(out, bytes, position);
+            maxId = batch.get(batch.size() - 1).getId();
+            rows += batch.size();
+        }
+    }
+
+    private static int writeFully(FileChannel out, ByteBuffer bytes, long position) throws IOException {
+        int length = bytes.remaining();
+        while (bytes.hasRemaining()) {
+            position += out.write(bytes, position);
+        }
+        return length;
+    }
+
+    private synchronized Snapshot open() {
+        if (!opened) {
+            opened = true;
+            current = load();
+        }
+        return current;
+    }
+
+    private Snapshot load() {
+        if (!Files.exists(path)) {
+            countLoad("missing");
+            return null;
+        }
+        Snapshot snapshot;
+        try {
+            snapshot = map();
+        } catch (IOException | IllegalArgumentException | BufferUnderflowException e) {
+            countLoad("invalid");
+            return null;
+        }
+        if (productRepository.countByIdLessThanEqual(snapshot.maxId) != snapshot.rows) {
+            countLoad("stale");
+            return null;
+        }
+        countLoad("loaded");
+        return snapshot;
+    }
+
+    // The mapping stays valid after the channel is closed.
+    private Snapshot map() throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Snapshot too large to map");
+            }
+            return Snapshot.parse(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private void countLoad(String outcome) {
+        if (meterRegistry != null) {
+            meterRegistry.counter("products.snapshot.loads", "outcome", outcome).increment();
+        }
+    }
+
+    private record Snapshot(MappedByteBuffer buffer, long maxId, long rows, long checksum, int[] offsets) {
+
+        static Snapshot parse(MappedByteBuffer buffer) {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Not a snapshot of this version");
+            }
+            long maxId = buffer.getLong(8);
+            long rows = buffer.getLong(16);
+            long checksum = buffer.getLong(32);
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(HEADER_SIZE, buffer.limit() - HEADER_SIZE));
+            if (crc.getValue() != checksum) {
+                throw new IllegalArgumentException("Checksum mismatch");
+            }
+
+            int[] offsets = new int[16];
+            int blocks = 0;
+            for (int position = HEADER_SIZE; position < buffer.limit(); ) {
+                int length = buffer.getInt(position);
+                position += 4;
+                // Blocks written by an older codec version are not readable.
+                if (length < 5 || length > buffer.limit() - position
+                        || buffer.getInt(position) != ProductBinaryCodec.MAGIC
+                        || buffer.get(position + 4) != ProductBinaryCodec.VERSION) {
+                    throw new IllegalArgumentException("Unreadable block");
+                }
+                if (blocks == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, blocks * 2);
+                }
+                offsets[blocks++] = position - 4;
+                position += length;
+            }
+            return new Snapshot(buffer, maxId, rows, checksum, Arrays.copyOf(offsets, blocks));
+        }
+
+        ByteBuffer body() {
+            return buffer.slice(HEADER_SIZE, buffer.limit() - HEADER_SIZE);
+        }
+
+        ByteBuffer block(int index) {
+            int offset = offsets[index];
+            return buffer.slice(offset + 4, buffer.getInt(offset));
+        }
+    }
+}
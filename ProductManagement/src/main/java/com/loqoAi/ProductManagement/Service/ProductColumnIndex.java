@@ -0,0 +1,342 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.loqoAi.ProductManagement.model.Product;
+
+/**
+ * In-memory, column-oriented copy of the catalog that answers the filtered and
+ * sorted listings of {@link ProductService#getProducts} without a database round trip.
+ *
+ * Sort keys and filters live in primitive arrays indexed by row number, categories
+ * are dictionary encoded, and every category keeps its rows presorted by price,
+ * rating and createdAt. A query walks one presorted permutation and checks the
+ * remaining filters against the columns, allocating nothing but the result list.
+ * Loaded at startup by {@link ProductCatalogLoader}. Enabled with
+ * {@code products.index.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "products.index.enabled", havingValue = "true")
+public class ProductColumnIndex implements ProductCatalogLoader.Listener {
+
+    private static final int PRICE = 0;
+    private static final int RATING = 1;
+    private static final int CREATED_AT = 2;
+    private static final Map<String, Integer> SORT_FIELDS = Map.of("price", PRICE, "rating", RATING, "createdAt", CREATED_AT);
+
+    // Larger writes append unsorted and re-sort once on the next query.
+    private static final int INCREMENTAL_LIMIT = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Product[] rows = new Product[1024];
+    private long[] ids = new long[1024];
+    private double[] price = new double[1024];
+    private double[] rating = new double[1024];
+    private long[] createdAt = new long[1024];
+    private int[] categoryCode = new int[1024];
+    private final BitSet inStock = new BitSet();
+    private int size;
+
+    private final Map<String, Integer> categoryCodes = new HashMap<>();
+    private final List<Postings> categoryPostings = new ArrayList<>();
+    private final Postings allPostings = new Postings();
+    private boolean ordersStale;
+
+    private volatile boolean ready;
+    private final List<Product> pendingWhileLoading = new ArrayList<>();
+
+    @Override
+    public void loadBatch(List<Product> batch) {
+        append(batch);
+    }
+
+    /**
+     * Applies the writes queued while the catalog was loading, then starts serving.
+     */
+    @Override
+    public void loadComplete() {
+        lock.writeLock().lock();
+        try {
+            Set<Long> pendingIds = new HashSet<>();
+            for (Product product : pendingWhileLoading) {
+                pendingIds.add(product.getId());
+            }
+            // Drop queued writes that the load already picked up from the database.
+            for (int row = 0; row < size && !pendingIds.isEmpty(); row++) {
+                pendingIds.remove(ids[row]);
+            }
+            List<Product> missing = new ArrayList<>();
+            for (Product product : pendingWhileLoading) {
+                if (pendingIds.contains(product.getId())) {
+                    missing.add(product);
+                }
+            }
+            appendLocked(missing);
+            pendingWhileLoading.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                pendingWhileLoading.addAll(event.products());
+                return;
+            }
+            appendLocked(event.products());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether the index can produce results in the given sort order.
+     */
+    public boolean supports(String sortField) {
+        return SORT_FIELDS.containsKey(sortField);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the products matching the filters, sorted by the given field.
+     * Null filters are ignored. The returned products are shared and must not be modified.
+     */
+    public List<Product> query(String category, Double minPrice, Double maxPrice, Boolean inStockFilter,
+                               String sortField, boolean descending) {
+        int field = SORT_FIELDS.get(sortField);
+
+        lock.readLock().lock();
+        try {
+            while (ordersStale) {
+                lock.readLock().unlock();
+                sortOrders();
+                lock.readLock().lock();
+            }
+
+            Postings postings = allPostings;
+            if (category != null) {
+                Integer code = categoryCodes.get(category);
+                if (code == null) {
+                    return new ArrayList<>();
+                }
+                postings = categoryPostings.get(code);
+            }
+
+            int[] order = postings.orders[field];
+            int from = 0;
+            int to = postings.size;
+            boolean priceBounded = false;
+            if (field == PRICE) {
+                // Sorted by price: the price range is a contiguous slice of the permutation.
+                if (minPrice != null) {
+                    from = lowerBound(order, from, to, PRICE, minPrice);
+                }
+                if (maxPrice != null) {
+                    to = upperBound(order, from, to, PRICE, maxPrice);
+                }
+                priceBounded = true;
+            }
+
+            List<Product> result = new ArrayList<>();
+            for (int i = 0; i < to - from; i++) {
+                int row = descending ? order[to - 1 - i] : order[from + i];
+                if (!priceBounded && ((minPrice != null && price[row] < minPrice) || (maxPrice != null && price[row] > maxPrice))) {
+                    continue;
+                }
+                if (inStockFilter != null && inStock.get(row) != inStockFilter) {
+                    continue;
+                }
+                result.add(rows[row]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void append(List<Product> products) {
+        lock.writeLock().lock();
+        try {
+            appendLocked(products);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void appendLocked(List<Product> products) {
+        boolean incremental = !ordersStale && products.size() <= INCREMENTAL_LIMIT;
+        for (Product product : products) {
+            int row = appendRow(product);
+            allPostings.add(row, incremental);
+            categoryPostings.get(categoryCode[row]).add(row, incremental);
+        }
+        if (!incremental && !products.isEmpty()) {
+            ordersStale = true;
+        }
+    }
+
+    private int appendRow(Product product) {
+        if (size == rows.length) {
+            int capacity = size * 2;
+            rows = Arrays.copyOf(rows, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            price = Arrays.copyOf(price, capacity);
+            rating = Arrays.copyOf(rating, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            categoryCode = Arrays.copyOf(categoryCode, capacity);
+        }
+
+        int row = size++;
+        rows[row] = product;
+        ids[row] = product.getId();
+        price[row] = product.getPrice();
+        rating[row] = product.getRating();
+        createdAt[row] = product.getCreatedAt() != null ? product.getCreatedAt().getTime() : Long.MIN_VALUE;
+        inStock.set(row, product.isInStock());
+
+        Integer code = categoryCodes.get(product.getCategory());
+        if (code == null) {
+            code = categoryPostings.size();
+            categoryCodes.put(product.getCategory(), code);
+            categoryPostings.add(new Postings());
+        }
+        categoryCode[row] = code;
+        return row;
+    }
+
+    private void sortOrders() {
+        lock.writeLock().lock();
+        try {
+            if (ordersStale) {
+                allPostings.sortOrders();
+                for (Postings postings : categoryPostings) {
+                    postings.sortOrders();
+                }
+                ordersStale = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private double key(int field, int row) {
+        return switch (field) {
+            case PRICE -> price[row];
+            case RATING -> rating[row];
+            default -> createdAt[row];
+        };
+    }
+
+    /** First position in [from, to) whose key is >= value. */
+    private int lowerBound(int[] order, int from, int to, int field, double value) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (key(field, order[mid]) < value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /** First position in [from, to) whose key is > value. */
+    private int upperBound(int[] order, int from, int to, int field, double value) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (key(field, order[mid]) <= value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Row numbers of one category (or of the whole catalog), plus one
+     * permutation of them per sort field.
+     */
+    private final class Postings {
+        private int[] rowList = new int[16];
+        private final int[][] orders = new int[SORT_FIELDS.size()][16];
+        private int size;
+
+        void add(int row, boolean keepOrdered) {
+            if (size == rowList.length) {
+                rowList = Arrays.copyOf(rowList, size * 2);
+                for (int field = 0; field < orders.length; field++) {
+                    orders[field] = Arrays.copyOf(orders[field], size * 2);
+                }
+            }
+            rowList[size] = row;
+            if (keepOrdered) {
+                for (int field = 0; field < orders.length; field++) {
+                    // New rows go after equal keys so ties stay in insertion order.
+                    int position = upperBound(orders[field], 0, size, field, key(field, row));
+                    System.arraycopy(orders[field], position, orders[field], position + 1, size - position);
+                    orders[field][position] = row;
+                }
+            }
+            size++;
+        }
+
+        void sortOrders() {
+            int[] buffer = new int[size];
+            for (int field = 0; field < orders.length; field++) {
+                System.arraycopy(rowList, 0, orders[field], 0, size);
+                mergeSort(orders[field], buffer, 0, size, field);
+            }
+        }
+
+        // Stable, so rows with equal keys keep insertion order.
+        private void mergeSort(int[] order, int[] buffer, int from, int to, int field) {
+            if (to - from < 2) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            mergeSort(order, buffer, from, mid, field);
+            mergeSort(order, buffer, mid, to, field);
+            if (key(field, order[mid - 1]) <= key(field, order[mid])) {
+                return;
+            }
+            System.arraycopy(order, from, buffer, from, to - from);
+            int left = from;
+            int right = mid;
+            for (int i = from; i < to; i++) {
+                if (right >= to || (left < mid && key(field, buffer[left]) <= key(field, buffer[right]))) {
+                    order[i] = buffer[left++];
+                } else {
+                    order[i] = buffer[right++];
+                }
+            }
+        }
+    }
+}
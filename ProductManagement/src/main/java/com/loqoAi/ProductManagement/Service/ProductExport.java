@@ -0,0 +1,21 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.util.function.Consumer;
+
+import com.loqoAi.ProductManagement.model.Product;
+
+/**
+ * A validated export that has not been read yet. Reading happens when the
+ * response body is written, possibly on another thread.
+ */
+@FunctionalInterface
+public interface ProductExport {
+
+    /**
+     * Streams every matching product to the sink, in order, inside one read-only transaction.
+     * 
+     * @param sink Receives the products one at a time.
+     * @return The number of products written.
+     */
+    long writeTo(Consumer<Product> sink);
+}
@@ -0,0 +1,263 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.loqoAi.ProductManagement.Exceptions.ResourceNotFoundException;
+import com.loqoAi.ProductManagement.Exceptions.ServiceUnavailableException;
+import com.loqoAi.ProductManagement.model.BulkChunkProgress;
+import com.loqoAi.ProductManagement.model.BulkImportSummary;
+import com.loqoAi.ProductManagement.model.ImportJobStatus;
+import com.loqoAi.ProductManagement.model.ImportJobStatus.State;
+import com.loqoAi.ProductManagement.model.Product;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bulk imports that run in the background. The upload is spooled to a local file
+ * before the job is acknowledged, then a small worker pool imports it through
+ * {@link ProductStreamImporter}, so neither a request thread nor the client
+ * connection is held for the duration of the import.
+ *
+ * At most {@code products.import-jobs.queue-capacity} jobs wait for a worker; beyond
+ * that, submissions get 503. Finished jobs are kept for the retention period, but no
+ * more than {@code products.import-jobs.max-jobs} jobs are tracked, the oldest finished
+ * ones being forgotten first.
+ */
+@Service
+public class ProductImportJobs {
+
+    @Autowired
+    private ProductStreamImporter productStreamImporter;
+
+    private final Path spoolDirectory;
+    private final Duration retention;
+    private final int maxJobs;
+    private final Duration retryAfter;
+    private final ThreadPoolExecutor workers;
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ProductImportJobs(@Value("${products.import-jobs.workers:2}") int workers,
+                             @Value("${products.import-jobs.queue-capacity:16}") int queueCapacity,
+                             @Value("${products.import-jobs.max-jobs:1000}") int maxJobs,
+                             @Value("${products.import-jobs.spool-dir:${java.io.tmpdir}}") Path spoolDirectory,
+                             @Value("${products.import-jobs.retention:1h}") Duration retention,
+                             @Value("${products.import-jobs.retry-after:30s}") Duration retryAfter) {
+        this.spoolDirectory = spoolDirectory;
+        this.retention = retention;
+        this.maxJobs = Math.max(1, maxJobs);
+        this.retryAfter = retryAfter;
+        this.workers = new ThreadPoolExecutor(Math.max(1, workers), Math.max(1, workers), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new CustomizableThreadFactory("import-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Running imports are interrupted and clean up after themselves; queued ones never start.
+        for (Runnable queued : workers.shutdownNow()) {
+            if (queued instanceof QueuedJob run) {
+                run.job.finished("Cancelled by shutdown before it started.");
+                deleteSpoolFile(run.job);
+            }
+        }
+    }
+
+    /**
+     * Spools the upload to disk and queues it for import.
+     * 
+     * @param input The request body, NDJSON or CSV.
+     * @param contentType The content type of the body.
+     * @return The status of the queued job.
+     * @throws IOException If the upload cannot be read or spooled.
+     */
+    public ImportJobStatus submit(InputStream input, String contentType) throws IOException {
+        removeExpiredJobs();
+        // Checked again when the job is queued; this only avoids spooling an upload that would be turned away.
+        if (workers.getQueue().remainingCapacity() == 0) {
+            throw rejected();
+        }
+
+        Files.createDirectories(spoolDirectory);
+        Path file = Files.createTempFile(spoolDirectory, "product-import-", ".upload");
+        long bytes;
+        try {
+            bytes = Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // The client went away before the upload was complete; there is no job to run.
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file, contentType, bytes);
+        jobs.put(job.id, job);
+        try {
+            workers.execute(new QueuedJob(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteSpoolFile(job);
+            throw rejected();
+        }
+        if (jobs.size() > maxJobs) {
+            forgetOldestFinishedJob();
+        }
+        return job.status();
+    }
+
+    /**
+     * Returns the current status of a job.
+     * 
+     * @param id The job id.
+     * @return The status.
+     * @throws ResourceNotFoundException If there is no such job or it finished more than
+     *         {@code products.import-jobs.retention} ago.
+     */
+    public ImportJobStatus getStatus(String id) {
+        removeExpiredJobs();
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Import job " + id + " not found.");
+        }
+        return job.status();
+    }
+
+    private void run(ImportJob job) {
+        job.started();
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(job.file))) {
+            Iterator<Product> rows = productStreamImporter.openReader(input, job.contentType);
+            BulkImportSummary summary = productStreamImporter.importProducts(rows, job::progress);
+            job.finished(summary.getError());
+        } catch (IOException | RuntimeException e) {
+            job.finished(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            deleteSpoolFile(job);
+        }
+    }
+
+    private static void deleteSpoolFile(ImportJob job) {
+        try {
+            Files.deleteIfExists(job.file);
+        } catch (IOException e) {
+            // Left in the spool directory; nothing else refers to it.
+        }
+    }
+
+    private ServiceUnavailableException rejected() {
+        return new ServiceUnavailableException("Too many import jobs waiting, try again later.", retryAfter);
+    }
+
+    private void removeExpiredJobs() {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+
+    // Unfinished jobs are bounded by the workers and the queue, so there is a finished one to drop
+    // whenever max-jobs is above that.
+    private void forgetOldestFinishedJob() {
+        jobs.values().stream()
+                .filter(job -> job.finishedAt() != null)
+                .min(Comparator.comparing(ImportJob::finishedAt))
+                .ifPresent(job -> jobs.remove(job.id, job));
+    }
+
+    /**
+     * The task queued for a job, so that jobs still queued at shutdown can be found.
+     */
+    private final class QueuedJob implements Runnable {
+        private final ImportJob job;
+
+        QueuedJob(ImportJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            ProductImportJobs.this.run(job);
+        }
+    }
+
+    /**
+     * Mutable state of one job; updated by its worker and read by status requests.
+     */
+    private static final class ImportJob {
+        private final String id;
+        private final Path file;
+        private final String contentType;
+        private final long uploadedBytes;
+        private final Date submittedAt = new Date();
+
+        private State state = State.QUEUED;
+        private Date startedAt;
+        private Date finishedAt;
+        private int chunks;
+        private long rowsRead;
+        private long saved;
+        private long duplicates;
+        private long rejected;
+        private String error;
+
+        ImportJob(String id, Path file, String contentType, long uploadedBytes) {
+            this.id = id;
+            this.file = file;
+            this.contentType = contentType;
+            this.uploadedBytes = uploadedBytes;
+        }
+
+        synchronized void started() {
+            state = State.RUNNING;
+            startedAt = new Date();
+        }
+
+        synchronized void progress(BulkChunkProgress progress) {
+            chunks++;
+            rowsRead = progress.getRowsRead();
+            saved += progress.getSaved();
+            duplicates += progress.getDuplicates();
+            rejected += progress.getRejected();
+        }
+
+        synchronized void finished(String error) {
+            this.error = error;
+            state = error == null ? State.COMPLETED : State.FAILED;
+            finishedAt = new Date();
+        }
+
+        synchronized boolean finishedBefore(long millis) {
+            return finishedAt != null && finishedAt.getTime() < millis;
+        }
+
+        synchronized Date finishedAt() {
+            return finishedAt;
+        }
+
+        synchronized ImportJobStatus status() {
+            double rowsPerSecond = 0;
+            if (startedAt != null) {
+                long end = finishedAt != null ? finishedAt.getTime() : System.currentTimeMillis();
+                rowsPerSecond = rowsRead * 1000.0 / Math.max(1, end - startedAt.getTime());
+            }
+            return new ImportJobStatus(id, state, uploadedBytes, chunks, rowsRead, saved, duplicates, rejected,
+                    rowsPerSecond, submittedAt, startedAt, finishedAt, error);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.loqoAi.ProductManagement.model.Product;
+
+/**
+ * Best-rated and newest products, overall and per category, kept up to date as
+ * products are added.
+ *
+ * Each leaderboard is a skip list holding at most {@code products.leaderboards.size}
+ * products in ranking order, so reading the top k is a walk over the first k entries.
+ * A new product only enters a full leaderboard if it outranks the last entry, which
+ * is then dropped. Loaded at startup by {@link ProductCatalogLoader}. Enabled by
+ * {@code products.leaderboards.enabled=true}; only this instance's writes reach it,
+ * so it should stay disabled when several instances write.
+ */
+@Component
+@ConditionalOnProperty(name = "products.leaderboards.enabled", havingValue = "true")
+public class ProductLeaderboards implements ProductCatalogLoader.Listener {
+
+    // Highest rating first, then lowest id (same order as search results).
+    static final Comparator<Product> BEST_RATED = Comparator.comparingDouble(Product::getRating).reversed()
+            .thenComparing(Product::getId);
+
+    // Latest creation time first, then highest id.
+    static final Comparator<Product> NEWEST = Comparator.comparing(Product::getCreatedAt,
+                    Comparator.nullsLast(Comparator.<Date>reverseOrder()))
+            .thenComparing(Product::getId, Comparator.reverseOrder());
+
+    private final int capacity;
+    private final Leaderboards all;
+    private final Map<String, Leaderboards> byCategory = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    public ProductLeaderboards(@Value("${products.leaderboards.size:100}") int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.all = new Leaderboards(this.capacity);
+    }
+
+    /**
+     * Offers a batch of the catalog. Products added during the load are offered by the
+     * event listener as well; offering a product twice has no effect.
+     */
+    @Override
+    public void loadBatch(List<Product> batch) {
+        offerAll(batch);
+    }
+
+    @Override
+    public void loadComplete() {
+        ready = true;
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        offerAll(event.products());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The largest number of products a leaderboard returns.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the first {@code limit} products of a leaderboard. The returned products
+     * are shared and must not be modified.
+     *
+     * @param category The category, or null for all products.
+     * @param newest True for the newest products, false for the best rated.
+     * @param limit The number of products, at most {@link #capacity()}.
+     */
+    public List<Product> top(String category, boolean newest, int limit) {
+        Leaderboards leaderboards = category == null ? all : byCategory.get(category);
+        if (leaderboards == null) {
+            return new ArrayList<>();
+        }
+        return (newest ? leaderboards.newest : leaderboards.bestRated).top(limit);
+    }
+
+    private void offerAll(List<Product> products) {
+        for (Product product : products) {
+            if (product.getId() == null) {
+                continue;
+            }
+            all.offer(product);
+            byCategory.computeIfAbsent(product.getCategory(), category -> new Leaderboards(capacity)).offer(product);
+        }
+    }
+
+    private static final class Leaderboards {
+        private final Leaderboard bestRated;
+        private final Leaderboard newest;
+
+        Leaderboards(int capacity) {
+            this.bestRated = new Leaderboard(BEST_RATED, capacity);
+            this.newest = new Leaderboard(NEWEST, capacity);
+        }
+
+        void offer(Product product) {
+            bestRated.offer(product);
+            newest.offer(product);
+        }
+    }
+
+    /**
+     * Bounded ranking. Writers are serialized; readers walk the skip list without locking.
+     */
+    static final class Leaderboard {
+        private final ConcurrentSkipListSet<Product> products;
+        private final Comparator<Product> ranking;
+        private final int capacity;
+        // ConcurrentSkipListSet.size() is linear, so the size is tracked here.
+        private int size;
+
+        Leaderboard(Comparator<Product> ranking, int capacity) {
+            this.products = new ConcurrentSkipListSet<>(ranking);
+            this.ranking = ranking;
+            this.capacity = capacity;
+        }
+
+        synchronized void offer(Product product) {
+            if (size >= capacity && ranking.compare(product, products.last()) >= 0) {
+                return;
+            }
+            if (!products.add(product)) {
+                return;
+            }
+            if (++size > capacity) {
+                products.pollLast();
+                size--;
+            }
+        }
+
+        List<Product> top(int limit) {
+            List<Product> top = new ArrayList<>(Math.min(limit, capacity));
+            Iterator<Product> it = products.iterator();
+            while (top.size() < limit && it.hasNext()) {
+                top.add(it.next());
+            }
+            return top;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Application-level meters of the product service.
+ */
+@Component
+public class ProductMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Counter savedRows;
+    private final Counter duplicateRows;
+
+    public ProductMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.savedRows = Counter.builder("products.bulk.rows")
+                .description("Rows processed by bulk uploads")
+                .tag("outcome", "saved")
+                .register(meterRegistry);
+        this.duplicateRows = Counter.builder("products.bulk.rows")
+                .description("Rows processed by bulk uploads")
+                .tag("outcome", "duplicate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Times a listing query, tagged with the query type and which filters were set
+     * (never their values, to keep cardinality low).
+     */
+    public <T> T timeQuery(String query, String category, Double minPrice, Double maxPrice, Boolean inStock, Supplier<T> body) {
+        return Timer.builder("products.query")
+                .description("Product listing queries by filter combination")
+                .tag("query", query)
+                .tag("filters", filterTag(category, minPrice, maxPrice, inStock))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(body);
+    }
+
+    public void recordBulkRows(int saved, int duplicates) {
+        savedRows.increment(saved);
+        duplicateRows.increment(duplicates);
+    }
+
+    static String filterTag(String category, Double minPrice, Double maxPrice, Boolean inStock) {
+        StringJoiner filters = new StringJoiner("+");
+        if (category != null) {
+            filters.add("category");
+        }
+        if (minPrice != null || maxPrice != null) {
+            filters.add("price");
+        }
+        if (inStock != null) {
+            filters.add("inStock");
+        }
+        return filters.length() == 0 ? "none" : filters.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.loqoAi.ProductManagement.Service;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Normalized description of a product listing or facet query, used as cache key.
+ */
+public record ProductQuery(String type, String category, Double minPrice, Double maxPrice, Boolean inStock,
+                           String sortField, Sort.Direction direction, Integer priceBuckets) {
+
+    public static ProductQuery filters(String category, Double minPrice, Double maxPrice, Boolean inStock,
+                                       String sortField, Sort.Direction direction) {
+        return new ProductQuery("filters", category, minPrice, maxPrice, inStock, sortField, direction, null);
+    }
+
+    public static ProductQuery facets(String category, Double minPrice, Double maxPrice, Boolean inStock, int priceBuckets) {
+        return new ProductQuery("facets", category, minPrice, maxPrice, inStock, null, null, priceBuckets);
+    }
+
+    public static ProductQuery category(String category) {
+        return new ProductQuery("category", category, null, null, null, null, null, null);
+    }
+
+    public static ProductQuery inStock(boolean inStock) {
+        return new ProductQuery("inStock", null, null, null, inStock, null, null, null);
+    }
+
+    /**
+     * Whether a write into the given category can change the result of this query.
+     */
+    public boolean dependsOn(String writtenCategory) {
+        return category == null || category.equals(writtenCategory);
+    }
+}
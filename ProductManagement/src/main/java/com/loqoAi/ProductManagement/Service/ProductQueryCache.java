@@ -0,0 +1,113 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductFacets;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of product listing and facet results, bounded by size and TTL.
+ * Entries are dropped as soon as a write lands in a category they depend on.
+ */
+@Component
+public class ProductQueryCache {
+
+    private final Cache<ProductQuery, Object> cache;
+
+    // Bumped on every write so that a load racing with the write is not cached.
+    private final AtomicLong writeVersion = new AtomicLong();
+
+    public ProductQueryCache(@Value("${products.cache.max-entries:1000}") long maxEntries,
+                             @Value("${products.cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Autowired(required = false)
+    void bindMetrics(MeterRegistry meterRegistry) {
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products.query");
+    }
+
+    /**
+     * Returns the cached result for the query, loading and caching it on a miss.
+     * 
+     * @param query The normalized query.
+     * @param loader Loads the result from the database.
+     * @return An unmodifiable list of products.
+     */
+    public List<Product> get(ProductQuery query, Supplier<List<Product>> loader) {
+        return load(query, loader, List::copyOf);
+    }
+
+    /**
+     * Returns the cached facets for the query, loading and caching them on a miss.
+     * 
+     * @param query The normalized facet query.
+     * @param loader Computes the facets in the database.
+     * @return The facets.
+     */
+    public ProductFacets getFacets(ProductQuery query, Supplier<ProductFacets> loader) {
+        return load(query, loader, Function.identity());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T load(ProductQuery query, Supplier<T> loader, Function<T, T> freeze) {
+        Object cached = cache.getIfPresent(query);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long versionBeforeLoad = writeVersion.get();
+        T loaded = freeze.apply(loader.get());
+        if (writeVersion.get() == versionBeforeLoad) {
+            cache.put(query, loaded);
+        }
+        return loaded;
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        invalidateCategories(event.categories());
+    }
+
+    /**
+     * Drops every entry whose result may include products of the given categories.
+     */
+    public void invalidateCategories(Set<String> categories) {
+        writeVersion.incrementAndGet();
+        cache.asMap().keySet().removeIf(query -> categories.stream().anyMatch(query::dependsOn));
+    }
+
+    /**
+     * Drops every entry, for writes whose categories are not known.
+     */
+    public void invalidateAll() {
+        writeVersion.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
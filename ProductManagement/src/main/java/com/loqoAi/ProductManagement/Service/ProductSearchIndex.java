@@ -0,0 +1,346 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.loqoAi.ProductManagement.model.Product;
+
+/**
+ * In-memory inverted index over product names and categories.
+ *
+ * Terms live in a sorted dictionary, so a prefix maps to a contiguous range of
+ * terms. Each term points to the ids of the products containing it, stored as
+ * varint-encoded deltas. Queries intersect the posting lists, apply the listing
+ * filters and keep the k best-rated matches in a bounded heap.
+ * Loaded at startup by {@link ProductCatalogLoader}.
+ * Enabled by {@code products.search.enabled=true}; only this instance's writes reach it,
+ * so it should stay disabled when several instances write.
+ */
+@Component
+@ConditionalOnProperty(name = "products.search.enabled", havingValue = "true")
+public class ProductSearchIndex implements ProductCatalogLoader.Listener {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Best match first: highest rating, then lowest id.
+    private static final Comparator<Product> RANKING = Comparator.comparingDouble(Product::getRating).reversed()
+            .thenComparing(Product::getId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TreeMap<String, PostingList> terms = new TreeMap<>();
+    private final Map<Long, Product> products = new HashMap<>();
+
+    private volatile boolean ready;
+    private final List<Product> pendingWhileLoading = new ArrayList<>();
+
+    @Override
+    public void loadBatch(List<Product> batch) {
+        index(batch);
+    }
+
+    /**
+     * Indexes the writes queued while the catalog was loading, then starts serving.
+     */
+    @Override
+    public void loadComplete() {
+        lock.writeLock().lock();
+        try {
+            // Products the load already picked up are skipped by indexLocked.
+            indexLocked(pendingWhileLoading);
+            pendingWhileLoading.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                pendingWhileLoading.addAll(event.products());
+                return;
+            }
+            indexLocked(event.products());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return products.size();
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    /**
+     * Returns the best-rated products whose name or category contains every term of
+     * the query. The last term also matches as a prefix, for autocomplete. Null filters
+     * are ignored. The returned products are shared and must not be modified.
+     */
+    public List<Product> search(String text, String category, Double minPrice, Double maxPrice, Boolean inStock, int limit) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                long[] ids = i == tokens.size() - 1 ? prefixIds(tokens.get(i)) : exactIds(tokens.get(i));
+                candidates = candidates == null ? ids : intersect(candidates, ids);
+                if (candidates.length == 0) {
+                    return new ArrayList<>();
+                }
+            }
+
+            // Min-heap on the ranking: the root is the worst of the k best seen so far.
+            PriorityQueue<Product> top = new PriorityQueue<>(limit, RANKING.reversed());
+            for (long id : candidates) {
+                Product product = products.get(id);
+                if (!matches(product, category, minPrice, maxPrice, inStock)) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.add(product);
+                } else if (RANKING.compare(product, top.peek()) < 0) {
+                    top.poll();
+                    top.add(product);
+                }
+            }
+
+            List<Product> result = new ArrayList<>(top);
+            result.sort(RANKING);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private boolean matches(Product product, String category, Double minPrice, Double maxPrice, Boolean inStock) {
+        return (category == null || category.equals(product.getCategory()))
+                && (minPrice == null || product.getPrice() >= minPrice)
+                && (maxPrice == null || product.getPrice() <= maxPrice)
+                && (inStock == null || product.isInStock() == inStock);
+    }
+
+    private void index(List<Product> batch) {
+        lock.writeLock().lock();
+        try {
+            indexLocked(batch);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void indexLocked(List<Product> batch) {
+        List<PostingList> outOfOrder = new ArrayList<>();
+        for (Product product : batch) {
+            if (products.putIfAbsent(product.getId(), product) != null) {
+                continue;
+            }
+            for (String token : tokenize(product.getName() + " " + product.getCategory())) {
+                PostingList postings = terms.computeIfAbsent(token, term -> new PostingList());
+                if (postings.add(product.getId())) {
+                    outOfOrder.add(postings);
+                }
+            }
+        }
+        for (PostingList postings : outOfOrder) {
+            postings.mergePending();
+        }
+    }
+
+    private long[] exactIds(String term) {
+        PostingList postings = terms.get(term);
+        return postings != null ? postings.decode() : new long[0];
+    }
+
+    private long[] prefixIds(String prefix) {
+        SortedMap<String, PostingList> range = terms.subMap(prefix, prefix + Character.MAX_VALUE);
+        if (range.size() == 1) {
+            return range.values().iterator().next().decode();
+        }
+
+        long[] ids = new long[0];
+        int size = 0;
+        for (PostingList postings : range.values()) {
+            long[] termIds = postings.decode();
+            if (size + termIds.length > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, size + termIds.length));
+            }
+            System.arraycopy(termIds, 0, ids, size, termIds.length);
+            size += termIds.length;
+        }
+        Arrays.sort(ids, 0, size);
+
+        // A product containing several terms with the prefix appears once per term.
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || ids[i] != ids[unique - 1]) {
+                ids[unique++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, unique);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Sorted product ids, each stored as the varint-encoded gap to the previous one.
+     * Ids are generated in increasing order, so writes almost always append. Ids below
+     * the last one (chunks of a parallel upload commit in any order) are held back and
+     * merged in one pass by {@link #mergePending()}, once per batch instead of once per id.
+     */
+    static final class PostingList {
+        private static final long[] NONE = new long[0];
+
+        private byte[] bytes = new byte[4];
+        private int length;
+        private int count;
+        private long last;
+        private long[] pending = NONE;
+        private int pendingCount;
+
+        /**
+         * Adds an id, or holds it back until {@link #mergePending()} if it is not above the last one.
+         *
+         * @param id The product id.
+         * @return True if this is the first id held back since the last merge.
+         */
+        boolean add(long id) {
+            if (count > 0 && id <= last) {
+                if (pendingCount == pending.length) {
+                    pending = Arrays.copyOf(pending, Math.max(8, pendingCount * 2));
+                }
+                pending[pendingCount++] = id;
+                return pendingCount == 1;
+            }
+            append(id);
+            return false;
+        }
+
+        void mergePending() {
+            if (pendingCount == 0) {
+                return;
+            }
+            long[] held = Arrays.copyOf(pending, pendingCount);
+            Arrays.sort(held);
+            pending = NONE;
+            pendingCount = 0;
+
+            long[] ids = decode();
+            length = 0;
+            count = 0;
+            last = 0;
+            int i = 0;
+            int j = 0;
+            while (i < ids.length || j < held.length) {
+                long id = j == held.length || (i < ids.length && ids[i] <= held[j]) ? ids[i++] : held[j++];
+                if (count == 0 || id != last) {
+                    append(id);
+                }
+            }
+        }
+
+        long[] decode() {
+            long[] ids = new long[count];
+            long id = 0;
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                long gap = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = bytes[position++];
+                    gap |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                id += gap;
+                ids[i] = id;
+            }
+            return ids;
+        }
+
+        int count() {
+            return count;
+        }
+
+        int byteSize() {
+            return length;
+        }
+
+        private void append(long id) {
+            writeVarint(id - last);
+            last = id;
+            count++;
+        }
+
+        private void writeVarint(long value) {
+            if (length + 10 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 10));
+            }
+            while ((value & ~0x7FL) != 0) {
+                bytes[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[length++] = (byte) value;
+        }
+    }
+}
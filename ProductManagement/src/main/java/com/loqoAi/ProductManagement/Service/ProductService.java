@@ -1,44 +1,154 @@
 package com.loqoAi.ProductManagement.Service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.Exceptions.BulkValidationException;
+import com.loqoAi.ProductManagement.Exceptions.ServiceUnavailableException;
+import com.loqoAi.ProductManagement.model.BulkSaveResult;
 import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductCursor;
+import com.loqoAi.ProductManagement.model.ProductFacets;
+import com.loqoAi.ProductManagement.model.ProductKey;
+import com.loqoAi.ProductManagement.model.ProductPage;
+import com.loqoAi.ProductManagement.model.ProductView;
 import com.loqoAi.ProductManagement.repository.ProductRepository;
+import com.loqoAi.ProductManagement.repository.ProductSpecifications;
 
+import io.micrometer.core.annotation.Timed;
+
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing products.
  */
 @Service
+@Timed(value = "products.service", histogram = true)
 public class ProductService {
 
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    // Sort fields accepted by the paged and streaming reads.
+    private static final Set<String> SORT_FIELDS = Set.of("createdAt", "price", "rating", "name");
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductQueryCache productQueryCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProductMetrics productMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired(required = false)
+    private ProductColumnIndex productColumnIndex;
+
+    @Autowired(required = false)
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired(required = false)
+    private ProductWriteCoalescer productWriteCoalescer;
+
+    @Autowired(required = false)
+    private ProductLeaderboards productLeaderboards;
+
+    @Value("${products.bulk.chunk-size:1000}")
+    private int bulkChunkSize = 1000;
+
+    @Value("${products.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${products.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${products.export.fetch-size:1000}")
+    private int exportFetchSize = 1000;
+
+    @Value("${products.search.default-limit:20}")
+    private int defaultSearchLimit = 20;
+
+    @Value("${products.search.max-limit:100}")
+    private int maxSearchLimit = 100;
+
+    @Value("${products.facets.max-price-buckets:100}")
+    private int maxPriceBuckets = 100;
+
+    @Value("${products.leaderboards.default-limit:20}")
+    private int defaultTopLimit = 20;
+
+    @Value("${products.leaderboards.size:100}")
+    private int maxTopLimit = 100;
+
+    @Value("${products.coalesce.retry-after:1s}")
+    private Duration coalesceRetryAfter = Duration.ofSeconds(1);
+
     /**
-     * Adds a new product to the database.
+     * Adds a new product to the database. With {@link ProductWriteCoalescer} enabled, the
+     * duplicate check, insert and commit are shared with concurrent callers.
      * 
      * @param product The product to be added.
      * @return The saved product.
      * @throws BadRequestException If the product already exists or validation fails.
+     * @throws ServiceUnavailableException If the group commit did not write the product within
+     *         {@code products.coalesce.timeout}; it may still be written afterwards.
      */
     public Product addProduct(Product product) {
         validateProduct(product);
 
+        if (productWriteCoalescer != null) {
+            try {
+                return productWriteCoalescer.submit(product).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof TimeoutException) {
+                    throw new ServiceUnavailableException("Timed out waiting for the product to be written.",
+                            coalesceRetryAfter);
+                }
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
         Optional<Product> existingProduct = productRepository.findByNameAndCategory(product.getName(), product.getCategory());
         if (existingProduct.isPresent()) {
             throw new BadRequestException("Product with name " + product.getName() + " in category " + product.getCategory() + " already exists.");
         }
 
-        return productRepository.save(product);
+        Product savedProduct;
+        try {
+            savedProduct = productRepository.save(product);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent insert; the unique (name, category) key caught it.
+            throw new BadRequestException("Product with name " + product.getName() + " in category " + product.getCategory() + " already exists.");
+        }
+
+        eventPublisher.publishEvent(new ProductsChangedEvent(List.of(savedProduct)));
+        return savedProduct;
     }
 
     /**
      * Retrieves a list of products based on various filters.
+     * Results come from {@link ProductColumnIndex} when it is enabled and supports the
+     * sort field, otherwise from {@link ProductQueryCache} or the database.
      * 
      * @param category The category to filter by.
      * @param minPrice The minimum price to filter by.
@@ -55,9 +165,227 @@ public class ProductService {
             sortField = "createdAt";
         }
 
+        if (productColumnIndex != null && productColumnIndex.isReady() && productColumnIndex.supports(sortField)) {
+            String indexSortField = sortField;
+            return productMetrics.timeQuery("index", category, minPrice, maxPrice, inStock,
+                    () -> productColumnIndex.query(category, minPrice, maxPrice, inStock, indexSortField, direction.isDescending()));
+        }
+
         Sort sort = Sort.by(direction, sortField);
+        ProductQuery query = ProductQuery.filters(category, minPrice, maxPrice, inStock, sortField, direction);
 
-        return productRepository.findByFilters(category, minPrice, maxPrice, inStock, sort);
+        return productMetrics.timeQuery("list", category, minPrice, maxPrice, inStock,
+                () -> productQueryCache.get(query,
+                        () -> productRepository.findAll(ProductSpecifications.filters(category, minPrice, maxPrice, inStock), sort)));
+    }
+
+    /**
+     * Retrieves products based on various filters as read-only views, without
+     * materializing managed entities.
+     * 
+     * @param category The category to filter by.
+     * @param minPrice The minimum price to filter by.
+     * @param maxPrice The maximum price to filter by.
+     * @param inStock Whether to filter by stock availability.
+     * @param sortField The field to sort by.
+     * @param sortOrder The order to sort by (asc/desc).
+     * @return A list of product views matching the filters.
+     */
+    public List<ProductView> getProductViews(String category, Double minPrice, Double maxPrice, Boolean inStock, String sortField, String sortOrder) {
+        Sort.Direction direction = getSortDirection(sortOrder);
+
+        if (sortField == null || sortField.isEmpty()) {
+            sortField = "createdAt";
+        }
+
+        return productRepository.findViews(ProductSpecifications.filters(category, minPrice, maxPrice, inStock), Sort.by(direction, sortField));
+    }
+
+    /**
+     * Retrieves one page of products using keyset pagination: the next page starts
+     * right after the (sortField, id) position encoded in the cursor, so deep pages
+     * cost the same as the first one.
+     * 
+     * @param category The category to filter by.
+     * @param minPrice The minimum price to filter by.
+     * @param maxPrice The maximum price to filter by.
+     * @param inStock Whether to filter by stock availability.
+     * @param sortField The field to sort by (createdAt, price, rating or name).
+     * @param sortOrder The order to sort by (asc/desc).
+     * @param limit The page size, capped at {@code products.page.max-size}.
+     * @param cursor The continuation token of the previous page, or null for the first page.
+     * @return The page and the cursor of the next page.
+     * @throws BadRequestException If the sort field, limit or cursor is invalid.
+     */
+    public ProductPage getProductPage(String category, Double minPrice, Double maxPrice, Boolean inStock,
+                                      String sortField, String sortOrder, Integer limit, String cursor) {
+        Sort.Direction direction = getSortDirection(sortOrder);
+
+        if (sortField == null || sortField.isEmpty()) {
+            sortField = "createdAt";
+        }
+        if (!SORT_FIELDS.contains(sortField)) {
+            throw new BadRequestException("Invalid sort field: " + sortField);
+        }
+        if (limit != null && limit <= 0) {
+            throw new BadRequestException("Page size must be positive.");
+        }
+        int pageSize = Math.min(limit != null ? limit : defaultPageSize, maxPageSize);
+
+        Specification<Product> spec = ProductSpecifications.filters(category, minPrice, maxPrice, inStock);
+        if (cursor != null && !cursor.isEmpty()) {
+            ProductCursor position = ProductCursor.decode(cursor);
+            if (!position.sortField().equals(sortField) || position.descending() != direction.isDescending()) {
+                throw new BadRequestException("Cursor does not match sortField and sortOrder.");
+            }
+            spec = spec.and(ProductSpecifications.after(position));
+        }
+
+        Sort sort = Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+        // Fetch one extra row to learn whether another page exists.
+        List<Product> rows = productRepository.findBy(spec, query -> query.sortBy(sort).limit(pageSize + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = ProductCursor.after(rows.get(pageSize - 1), sortField, direction.isDescending()).encode();
+        }
+        return new ProductPage(rows, nextCursor);
+    }
+
+    /**
+     * Searches product names and categories. Every word of the query must match a
+     * word of the product; the last word also matches as a prefix. Results come from
+     * {@link ProductSearchIndex} once it is loaded, otherwise from a substring query
+     * against the database.
+     * 
+     * @param text The search query.
+     * @param category The category to filter by.
+     * @param minPrice The minimum price to filter by.
+     * @param maxPrice The maximum price to filter by.
+     * @param inStock Whether to filter by stock availability.
+     * @param limit The maximum number of results, capped at {@code products.search.max-limit}.
+     * @return The best-rated matching products, highest rating first.
+     * @throws BadRequestException If the query is empty or the limit is invalid.
+     */
+    public List<Product> searchProducts(String text, String category, Double minPrice, Double maxPrice, Boolean inStock, Integer limit) {
+        List<String> terms = ProductSearchIndex.tokenize(text);
+        if (terms.isEmpty()) {
+            throw new BadRequestException("Search query cannot be null or empty.");
+        }
+        if (limit != null && limit <= 0) {
+            throw new BadRequestException("Result limit must be positive.");
+        }
+        int resultLimit = Math.min(limit != null ? limit : defaultSearchLimit, maxSearchLimit);
+
+        if (productSearchIndex != null && productSearchIndex.isReady()) {
+            return productSearchIndex.search(text, category, minPrice, maxPrice, inStock, resultLimit);
+        }
+
+        Specification<Product> spec = ProductSpecifications.filters(category, minPrice, maxPrice, inStock)
+                .and(ProductSpecifications.containsTerms(terms));
+        Sort sort = Sort.by(Sort.Direction.DESC, "rating").and(Sort.by(Sort.Direction.ASC, "id"));
+        return productRepository.findBy(spec, query -> query.sortBy(sort).limit(resultLimit).all());
+    }
+
+    /**
+     * Retrieves the best-rated or newest products, overall or in one category. Results
+     * come from {@link ProductLeaderboards} once they are loaded, otherwise from the database.
+     * 
+     * @param category The category to filter by, or null for all products.
+     * @param sortField The ranking: rating (highest first) or createdAt (newest first).
+     * @param limit The number of products, capped at {@code products.leaderboards.size}.
+     * @return The top products, best first.
+     * @throws BadRequestException If the ranking or the limit is invalid.
+     */
+    public List<Product> getTopProducts(String category, String sortField, Integer limit) {
+        if (sortField == null || sortField.isEmpty()) {
+            sortField = "rating";
+        }
+        if (!sortField.equals("rating") && !sortField.equals("createdAt")) {
+            throw new BadRequestException("Invalid sort field: " + sortField);
+        }
+        if (limit != null && limit <= 0) {
+            throw new BadRequestException("Result limit must be positive.");
+        }
+        int resultLimit = Math.min(limit != null ? limit : defaultTopLimit, maxTopLimit);
+        boolean newest = sortField.equals("createdAt");
+
+        if (productLeaderboards != null && productLeaderboards.isReady()) {
+            return productMetrics.timeQuery("top", category, null, null, null,
+                    () -> productLeaderboards.top(category, newest, resultLimit));
+        }
+
+        Sort sort = newest
+                ? Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "id"))
+                : Sort.by(Sort.Direction.DESC, "rating").and(Sort.by(Sort.Direction.ASC, "id"));
+        Specification<Product> spec = ProductSpecifications.filters(category, null, null, null);
+        return productMetrics.timeQuery("top", category, null, null, null,
+                () -> productRepository.findBy(spec, query -> query.sortBy(sort).limit(resultLimit).all()));
+    }
+
+    /**
+     * Prepares a streaming export of the products matching the filters. The arguments are
+     * validated immediately; the rows are read from a database cursor only when the export
+     * is written, so memory use does not depend on the size of the result.
+     * 
+     * @param category The category to filter by.
+     * @param minPrice The minimum price to filter by.
+     * @param maxPrice The maximum price to filter by.
+     * @param inStock Whether to filter by stock availability.
+     * @param sortField The field to sort by (createdAt, price, rating or name).
+     * @param sortOrder The order to sort by (asc/desc).
+     * @return The export, to be written to the response.
+     * @throws BadRequestException If the sort field or order is invalid.
+     */
+    public ProductExport exportProducts(String category, Double minPrice, Double maxPrice, Boolean inStock,
+                                        String sortField, String sortOrder) {
+        Sort.Direction direction = getSortDirection(sortOrder);
+
+        if (sortField == null || sortField.isEmpty()) {
+            sortField = "createdAt";
+        }
+        if (!SORT_FIELDS.contains(sortField)) {
+            throw new BadRequestException("Invalid sort field: " + sortField);
+        }
+
+        Specification<Product> spec = ProductSpecifications.filters(category, minPrice, maxPrice, inStock);
+        Sort sort = Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return sink -> readOnly.execute(status -> {
+            try (Stream<Product> products = productRepository.streamAll(spec, sort, exportFetchSize)) {
+                long count = 0;
+                for (Iterator<Product> it = products.iterator(); it.hasNext(); count++) {
+                    sink.accept(it.next());
+                }
+                return count;
+            }
+        });
+    }
+
+    /**
+     * Computes facets over the products matching the filters: total and in-stock counts,
+     * price and rating statistics, per-category counts and a price histogram with
+     * equal-width buckets between the lowest and highest matching price.
+     * 
+     * @param category The category to filter by.
+     * @param minPrice The minimum price to filter by.
+     * @param maxPrice The maximum price to filter by.
+     * @param inStock Whether to filter by stock availability.
+     * @param priceBuckets The number of price histogram buckets (default 10).
+     * @return The facets of the matching products.
+     * @throws BadRequestException If the number of buckets is out of range.
+     */
+    public ProductFacets getFacets(String category, Double minPrice, Double maxPrice, Boolean inStock, Integer priceBuckets) {
+        int buckets = priceBuckets != null ? priceBuckets : 10;
+        if (buckets < 1 || buckets > maxPriceBuckets) {
+            throw new BadRequestException("Number of price buckets must be between 1 and " + maxPriceBuckets + ".");
+        }
+
+        return productQueryCache.getFacets(ProductQuery.facets(category, minPrice, maxPrice, inStock, buckets),
+                () -> productRepository.findFacets(ProductSpecifications.filters(category, minPrice, maxPrice, inStock), buckets));
     }
 
     /**
@@ -89,7 +417,7 @@ public class ProductService {
             throw new BadRequestException("Category cannot be null or empty.");
         }
 
-        return productRepository.findByCategory(category);
+        return productQueryCache.get(ProductQuery.category(category), () -> productRepository.findByCategory(category));
     }
 
     /**
@@ -115,29 +443,126 @@ public class ProductService {
      * @return A list of products based on stock availability.
      */
     public List<Product> getProductsByInStock(boolean inStock) {
-        return productRepository.findByInStock(inStock);
+        return productQueryCache.get(ProductQuery.inStock(inStock), () -> productRepository.findByInStock(inStock));
     }
 
     /**
      * Bulk uploads multiple products and handles existing products.
+     * The payload is validated by {@link BulkProductValidator} first, then products are
+     * written in chunks of {@code products.bulk.chunk-size}, each chunk checked for
+     * duplicates with one set query and inserted as one JDBC batch.
      * 
      * @param products A list of products to be uploaded.
-     * @return A map containing lists of saved and existing products.
+     * @return A map containing lists of saved and existing products; repeats of a
+     *         (name, category) pair within the payload are listed as existing.
+     * @throws BulkValidationException If any product is invalid; nothing is saved.
      */
     public Map<String, List<Product>> saveAll(List<Product> products) {
+        BulkProductValidator.Result validated = BulkProductValidator.validate(products);
+        List<Product> unique = validated.unique();
         List<Product> savedProducts = new ArrayList<>();
         List<Product> existingProducts = new ArrayList<>();
 
-        for (Product product : products) {
+        int chunkSize = Math.max(1, bulkChunkSize);
+        for (int from = 0; from < unique.size(); from += chunkSize) {
+            List<Product> chunk = unique.subList(from, Math.min(from + chunkSize, unique.size()));
+            BulkSaveResult result = saveChunk(chunk);
+            savedProducts.addAll(result.getSavedProducts());
+            existingProducts.addAll(result.getExistingProducts());
+        }
+        existingProducts.addAll(validated.repeated());
+        productMetrics.recordBulkRows(0, validated.repeated().size());
+
+        return Map.of("savedProducts", savedProducts, "existingProducts", existingProducts);
+    }
+
+    /**
+     * Saves one chunk of a bulk upload: one duplicate-check query, then the new
+     * products are inserted in a single batch and transaction. Products failing
+     * {@link BulkProductValidator#check}, products already in the database and
+     * repeats of a (name, category) pair within the chunk are reported as existing.
+     * If the batch still conflicts with the unique key after the last check, the chunk
+     * is inserted one product at a time and the conflicting ones are reported as existing.
+     * 
+     * @param chunk The products to be saved.
+     * @return The saved and existing products of the chunk, in input order.
+     */
+    public BulkSaveResult saveChunk(List<Product> chunk) {
+        for (int attempt = 1; ; attempt++) {
+            BulkSaveResult result = classifyChunk(chunk);
             try {
-                Product savedProduct = addProduct(product);
-                savedProducts.add(savedProduct);
-            } catch (BadRequestException e) {
+                productRepository.insertAll(result.getSavedProducts());
+                return saved(result);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent writer inserted one of the keys after the duplicate check; check again.
+                // Keys that keep conflicting, such as ones the collation takes for equal beyond case,
+                // are found by inserting the products one at a time.
+                if (attempt >= MAX_CHUNK_ATTEMPTS) {
+                    return saved(insertOneByOne(chunk, result));
+                }
+            }
+        }
+    }
+
+    private BulkSaveResult saved(BulkSaveResult result) {
+        if (!result.getSavedProducts().isEmpty()) {
+            eventPublisher.publishEvent(new ProductsChangedEvent(result.getSavedProducts()));
+        }
+        productMetrics.recordBulkRows(result.getSavedProducts().size(), result.getExistingProducts().size());
+        return result;
+    }
+
+    private BulkSaveResult insertOneByOne(List<Product> chunk, BulkSaveResult result) {
+        Set<Product> conflicting = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Product product : result.getSavedProducts()) {
+            try {
+                productRepository.insertAll(List.of(product));
+            } catch (DataIntegrityViolationException e) {
+                conflicting.add(product);
+            }
+        }
+        if (conflicting.isEmpty()) {
+            return result;
+        }
+        // Rebuilt from the chunk, so both lists stay in input order.
+        Set<Product> saved = Collections.newSetFromMap(new IdentityHashMap<>());
+        saved.addAll(result.getSavedProducts());
+        saved.removeAll(conflicting);
+        List<Product> savedProducts = new ArrayList<>();
+        List<Product> existingProducts = new ArrayList<>();
+        for (Product product : chunk) {
+            (saved.contains(product) ? savedProducts : existingProducts).add(product);
+        }
+        return new BulkSaveResult(savedProducts, existingProducts);
+    }
+
+    private BulkSaveResult classifyChunk(List<Product> chunk) {
+        Set<ProductKey> candidateKeys = new HashSet<>();
+        for (Product product : chunk) {
+            if (isValidProduct(product)) {
+                candidateKeys.add(ProductKey.of(product));
+            }
+        }
+
+        Set<ProductKey> existingKeys = productRepository.findExistingKeys(candidateKeys);
+        Set<ProductKey> chunkKeys = new HashSet<>();
+        List<Product> savedProducts = new ArrayList<>();
+        List<Product> existingProducts = new ArrayList<>();
+
+        for (Product product : chunk) {
+            if (!isValidProduct(product)) {
                 existingProducts.add(product);
+                continue;
+            }
+            ProductKey key = ProductKey.of(product);
+            if (existingKeys.contains(key) || !chunkKeys.add(key.normalized())) {
+                existingProducts.add(product);
+            } else {
+                savedProducts.add(product);
             }
         }
 
-        return Map.of("savedProducts", savedProducts, "existingProducts", existingProducts);
+        return new BulkSaveResult(savedProducts, existingProducts);
     }
 
     /**
@@ -154,4 +579,8 @@ public class ProductService {
             throw new BadRequestException("Product category cannot be null or empty.");
         }
     }
+
+    private boolean isValidProduct(Product product) {
+        return BulkProductValidator.check(product) == null;
+    }
 }
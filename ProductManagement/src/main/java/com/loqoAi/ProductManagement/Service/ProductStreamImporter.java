@@ -0,0 +1,146 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.model.BulkChunkProgress;
+import com.loqoAi.ProductManagement.model.BulkImportSummary;
+import com.loqoAi.ProductManagement.model.BulkSaveResult;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductKey;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports products from an NDJSON or CSV stream with bounded memory: rows are
+ * parsed one at a time and only a single chunk is held in memory at once.
+ */
+@Service
+public class ProductStreamImporter {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${products.bulk.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    /**
+     * Opens an incremental reader over the given stream.
+     * 
+     * @param input The request body.
+     * @param contentType Either {@link #NDJSON} or {@link #CSV} (CSV must have a header row).
+     * @return An iterator that parses one product per call.
+     * @throws BadRequestException If the content type is not supported.
+     */
+    public Iterator<Product> openReader(InputStream input, String contentType) throws IOException {
+        if (contentType != null && contentType.startsWith(NDJSON)) {
+            return objectMapper.readerFor(Product.class).readValues(input);
+        }
+        if (contentType != null && contentType.startsWith(CSV)) {
+            CsvSchema schema = CsvSchema.emptySchema().withHeader();
+            return csvMapper.readerFor(Product.class).with(schema).readValues(input);
+        }
+        throw new BadRequestException("Unsupported content type: " + contentType);
+    }
+
+    /**
+     * Validates and saves the rows in fixed-size chunks, reporting each chunk as it completes.
+     * 
+     * @param rows The products to import.
+     * @param progressListener Receives one progress report per chunk.
+     * @return The summary of the whole import.
+     */
+    public BulkImportSummary importProducts(Iterator<Product> rows, Consumer<BulkChunkProgress> progressListener) {
+        long start = System.currentTimeMillis();
+        BulkImportSummary summary = new BulkImportSummary();
+        int size = Math.max(1, chunkSize);
+        List<Product> chunk = new ArrayList<>(size);
+        List<String> rejections = new ArrayList<>();
+        long rowsRead = 0;
+
+        while (true) {
+            Product product;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                product = rows.next();
+            } catch (RuntimeException e) {
+                // Rows before the malformed one are still saved; report where the input broke off.
+                summary.setError("Unreadable input after row " + rowsRead + ": " + e.getMessage());
+                break;
+            }
+            rowsRead++;
+
+            Set<ConstraintViolation<Product>> violations = validator.validate(product);
+            if (violations.isEmpty()) {
+                chunk.add(product);
+            } else {
+                rejections.add("row " + rowsRead + ": " + violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            }
+
+            if (chunk.size() + rejections.size() >= size) {
+                flush(chunk, rejections, rowsRead, summary, progressListener);
+            }
+        }
+
+        if (!chunk.isEmpty() || !rejections.isEmpty()) {
+            flush(chunk, rejections, rowsRead, summary, progressListener);
+        }
+        summary.setRowsRead(rowsRead);
+        summary.setElapsedMillis(System.currentTimeMillis() - start);
+        return summary;
+    }
+
+    private void flush(List<Product> chunk, List<String> rejections, long rowsRead,
+                       BulkImportSummary summary, Consumer<BulkChunkProgress> progressListener) {
+        BulkSaveResult result = productService.saveChunk(chunk);
+
+        List<Long> savedIds = new ArrayList<>(result.getSavedProducts().size());
+        for (Product product : result.getSavedProducts()) {
+            savedIds.add(product.getId());
+        }
+        List<ProductKey> duplicateKeys = new ArrayList<>(result.getExistingProducts().size());
+        for (Product product : result.getExistingProducts()) {
+            duplicateKeys.add(ProductKey.of(product));
+        }
+
+        BulkChunkProgress progress = new BulkChunkProgress(summary.getChunks() + 1, rowsRead,
+                savedIds.size(), duplicateKeys.size(), rejections.size(),
+                savedIds, duplicateKeys, new ArrayList<>(rejections));
+        summary.add(progress);
+        progressListener.accept(progress);
+
+        chunk.clear();
+        rejections.clear();
+    }
+}
@@ -0,0 +1,207 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.model.BulkSaveResult;
+import com.loqoAi.ProductManagement.model.Product;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Group commit for single-product inserts. Products submitted concurrently are
+ * collected for at most {@code products.coalesce.max-wait} or
+ * {@code products.coalesce.max-batch} products, whichever comes first, and written
+ * through {@link ProductService#saveChunk}: one duplicate-check query, one batch
+ * insert and one commit for the whole window. Each submitter gets its own outcome.
+ * A submission not written within {@code products.coalesce.timeout} fails with a
+ * {@link TimeoutException}.
+ * Enabled with {@code products.coalesce.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "products.coalesce.enabled", havingValue = "true")
+public class ProductWriteCoalescer {
+
+    // ProductService uses this class for addProduct; the lazy proxy breaks the cycle.
+    @Lazy
+    @Autowired
+    private ProductService productService;
+
+    private final int maxBatch;
+    private final long maxWaitNanos;
+    private final long timeoutNanos;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    private DistributionSummary batchSizes;
+
+    public ProductWriteCoalescer(@Value("${products.coalesce.max-batch:500}") int maxBatch,
+                                 @Value("${products.coalesce.max-wait:5ms}") Duration maxWait,
+                                 @Value("${products.coalesce.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${products.coalesce.timeout:5s}") Duration timeout) {
+        this.maxBatch = Math.max(1, maxBatch);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.timeoutNanos = timeout.toNanos();
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        this.flusher = new Thread(this::flushLoop, "product-write-coalescer");
+        this.flusher.setDaemon(true);
+    }
+
+    @Autowired(required = false)
+    void bindMetrics(MeterRegistry meterRegistry) {
+        batchSizes = DistributionSummary.builder("products.coalesce.batch.size")
+                .description("Products written per group commit")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+        failAll(drain(), new IllegalStateException("Application is shutting down."));
+    }
+
+    /**
+     * Queues a validated product for the next group commit. Blocks while the queue is
+     * full, which pushes back on callers when the database falls behind.
+     *
+     * @param product The product to be added.
+     * @return Completes with the saved product, with a {@link BadRequestException} if
+     *         the product already exists or an earlier submission in the same window has the same key,
+     *         or with a {@link TimeoutException} after {@code products.coalesce.timeout}.
+     */
+    public CompletableFuture<Product> submit(Product product) {
+        PendingWrite write = new PendingWrite(product);
+        long deadline = System.nanoTime() + timeoutNanos;
+        try {
+            if (!queue.offer(write, timeoutNanos, TimeUnit.NANOSECONDS)) {
+                write.future.completeExceptionally(new TimeoutException("Write queue is full."));
+                return write.future;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write.future.completeExceptionally(e);
+        }
+        if (!running) {
+            failAll(drain(), new IllegalStateException("Application is shutting down."));
+        }
+        // The product may still be committed after a timeout; a retry then reports it as existing.
+        return write.future.orTimeout(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    private void flushLoop() {
+        while (running) {
+            List<PendingWrite> batch;
+            try {
+                batch = nextBatch();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                write(batch);
+            } catch (Throwable e) {
+                // Whatever went wrong belongs to this batch; the next one gets a fresh start.
+                failAll(batch, e);
+            }
+        }
+    }
+
+    // Waits for the first write, then collects until the window of that write closes or the batch is full.
+    private List<PendingWrite> nextBatch() throws InterruptedException {
+        List<PendingWrite> batch = new ArrayList<>();
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < maxBatch) {
+            if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void write(List<PendingWrite> batch) {
+        List<Product> products = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            products.add(write.product);
+        }
+
+        BulkSaveResult result;
+        try {
+            result = productService.saveChunk(products);
+        } catch (RuntimeException e) {
+            failAll(batch, e);
+            return;
+        }
+        if (batchSizes != null) {
+            batchSizes.record(batch.size());
+        }
+
+        Set<Product> saved = Collections.newSetFromMap(new IdentityHashMap<>());
+        saved.addAll(result.getSavedProducts());
+        for (PendingWrite write : batch) {
+            Product product = write.product;
+            if (saved.contains(product)) {
+                write.future.complete(product);
+            } else {
+                write.future.completeExceptionally(new BadRequestException("Product with name " + product.getName()
+                        + " in category " + product.getCategory() + " already exists."));
+            }
+        }
+    }
+
+    private List<PendingWrite> drain() {
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        return remaining;
+    }
+
+    private static void failAll(List<PendingWrite> batch, Throwable error) {
+        for (PendingWrite write : batch) {
+            write.future.completeExceptionally(error);
+        }
+    }
+
+    private static final class PendingWrite {
+        private final Product product;
+        private final CompletableFuture<Product> future = new CompletableFuture<>();
+
+        PendingWrite(Product product) {
+            this.product = product;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.loqoAi.ProductManagement.model.Product;
+
+/**
+ * Published by {@link ProductService} after products have been committed to the database.
+ */
+public record ProductsChangedEvent(List<Product> products) {
+
+    public Set<String> categories() {
+        return products.stream().map(Product::getCategory).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,52 @@
+package com.loqoAi.ProductManagement.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-your-writes for the read replica: for {@code products.datasource.replica-max-lag}
+ * after a write, read-only transactions use the primary, so that {@link ProductQueryCache}
+ * and the listings tagged by {@link CatalogVersions} are never reloaded from a replica
+ * that has not caught up with the write yet.
+ *
+ * Active when {@code products.datasource.replica.jdbc-url} is set.
+ */
+@Component
+@ConditionalOnProperty(prefix = "products.datasource.replica", name = "jdbc-url")
+public class ReplicaLagWindow {
+
+    @Value("${products.datasource.replica-max-lag:1s}")
+    private Duration maxLag = Duration.ofSeconds(1);
+
+    private final AtomicLong openUntil = new AtomicLong(System.nanoTime());
+
+    // Runs before the caches are invalidated (they listen at HIGHEST_PRECEDENCE + 1), so a reload
+    // after the invalidation already reads from the primary.
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductsChanged(ProductsChangedEvent event) {
+        open();
+    }
+
+    /**
+     * Sends reads to the primary for the next {@code products.datasource.replica-max-lag}.
+     */
+    public void open() {
+        long until = System.nanoTime() + maxLag.toNanos();
+        openUntil.accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+    }
+
+    /**
+     * Returns whether the replica may still be missing a recent write.
+     */
+    public boolean isOpen() {
+        return System.nanoTime() - openUntil.get() < 0;
+    }
+}
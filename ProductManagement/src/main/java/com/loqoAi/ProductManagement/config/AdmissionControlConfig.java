@@ -0,0 +1,23 @@
+package com.loqoAi.ProductManagement.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the {@link AdmissionControlInterceptor} in front of the product endpoints.
+ */
+@Configuration
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+    @Autowired(required = false)
+    private AdmissionControlInterceptor admissionControlInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (admissionControlInterceptor != null) {
+            registry.addInterceptor(admissionControlInterceptor).addPathPatterns("/products/**");
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.loqoAi.ProductManagement.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loqoAi.ProductManagement.Exceptions.ServiceUnavailableException;
+import com.loqoAi.ProductManagement.Exceptions.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control in front of the product endpoints.
+ *
+ * Every client gets a {@link TokenBucket} of {@code products.admission.rate} requests per
+ * second with bursts of {@code products.admission.burst}; beyond that, requests get 429.
+ * A client is one of the keys listed in {@code products.admission.api-keys}, sent as
+ * {@code X-API-Key}, or else the client's address. The key is not a secret, so unknown
+ * keys count as no key; requests without a listed key also share one bucket of
+ * {@code products.admission.anonymous.rate} and {@code anonymous.burst}, which keeps them
+ * from crowding out the listed clients. The address is the peer's, or the one it forwarded
+ * in {@code X-Forwarded-For} when the peer is in {@code products.admission.trusted-proxies}. Admitted
+ * requests then take a permit from one of two bulkheads: heavy requests (bulk uploads,
+ * import jobs, exports, listings and facets without any filter, searches without a
+ * category) and everything else, so a flood of heavy requests cannot take the threads
+ * and connections of cheap ones. A request that cannot get a permit within the
+ * bulkhead's max-wait gets 503.
+ *
+ * Limits are taken on the first dispatch of a request and released when it completes,
+ * which for async endpoints is after the async dispatch. Enabled by
+ * {@code products.admission.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(name = "products.admission.enabled", havingValue = "true")
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private static final String KEY_PREFIX = "key:";
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+    private static final Set<String> FILTER_PARAMETERS = Set.of("category", "minPrice", "maxPrice", "inStock");
+    private static final Set<String> LISTING_PATHS = Set.of("/products", "/products/async", "/products/view",
+            "/products/page", "/products/facets");
+
+    private final double rate;
+    private final int burst;
+    private final Duration retryAfter;
+    private final Set<String> apiKeys;
+    private final Set<String> trustedProxies;
+    private final TokenBucket anonymous;
+    private final Cache<String, TokenBucket> buckets;
+    private final Bulkhead heavy;
+    private final Bulkhead light;
+
+    private Counter rateLimited;
+
+    public AdmissionControlInterceptor(@Value("${products.admission.rate:50}") double rate,
+                                       @Value("${products.admission.burst:100}") int burst,
+                                       @Value("${products.admission.api-keys:}") Set<String> apiKeys,
+                                       @Value("${products.admission.anonymous.rate:100}") double anonymousRate,
+                                       @Value("${products.admission.anonymous.burst:200}") int anonymousBurst,
+                                       @Value("${products.admission.trusted-proxies:}") Set<String> trustedProxies,
+                                       @Value("${products.admission.max-clients:100000}") long maxClients,
+                                       @Value("${products.admission.heavy.max-concurrent:4}") int heavyMaxConcurrent,
+                                       @Value("${products.admission.heavy.max-wait:100ms}") Duration heavyMaxWait,
+                                       @Value("${products.admission.light.max-concurrent:150}") int lightMaxConcurrent,
+                                       @Value("${products.admission.light.max-wait:50ms}") Duration lightMaxWait,
+                                       @Value("${products.admission.retry-after:1s}") Duration retryAfter) {
+        this.rate = rate;
+        this.burst = burst;
+        this.retryAfter = retryAfter;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.anonymous = new TokenBucket(anonymousRate, anonymousBurst, System.nanoTime());
+        // An idle client's bucket is full again after burst / rate seconds; dropping it then loses nothing.
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos((long) (Math.max(1, burst) / rate * 1e9)).plusSeconds(1))
+                .build();
+        this.heavy = new Bulkhead("heavy", heavyMaxConcurrent, heavyMaxWait);
+        this.light = new Bulkhead("light", lightMaxConcurrent, lightMaxWait);
+    }
+
+    @Autowired(required = false)
+    void bindMetrics(MeterRegistry meterRegistry) {
+        rateLimited = Counter.builder("products.admission.rejections")
+                .description("Requests rejected by admission control")
+                .tag("reason", "rate-limit")
+                .tag("bulkhead", "none")
+                .register(meterRegistry);
+        Gauge.builder("products.admission.clients", buckets, Cache::estimatedSize)
+                .description("Clients with a rate limiter")
+                .register(meterRegistry);
+        heavy.bindMetrics(meterRegistry);
+        light.bindMetrics(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async and error dispatches belong to a request that was admitted already.
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        String client = clientOf(request);
+        long now = System.nanoTime();
+        long wait = buckets.get(client, key -> new TokenBucket(rate, burst, now)).tryAcquire(now);
+        if (wait == 0 && !client.startsWith(KEY_PREFIX)) {
+            // A token taken from the client's own bucket is not given back when this one refuses;
+            // the client was over the shared limit either way.
+            wait = anonymous.tryAcquire(now);
+        }
+        if (wait > 0) {
+            if (rateLimited != null) {
+                rateLimited.increment();
+            }
+            throw new TooManyRequestsException("Rate limit exceeded.", Duration.ofNanos(wait));
+        }
+
+        Bulkhead bulkhead = isHeavy(request) ? heavy : light;
+        bulkhead.acquire(retryAfter);
+        request.setAttribute(PERMIT_ATTRIBUTE, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object bulkhead = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (bulkhead != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            ((Bulkhead) bulkhead).release();
+        }
+    }
+
+    String clientOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return KEY_PREFIX + apiKey;
+        }
+        return "address:" + addressOf(request);
+    }
+
+    /**
+     * Returns the client's address: the peer's, unless the peer is a trusted proxy, in which
+     * case the rightmost address in {@code X-Forwarded-For} that is not a trusted proxy.
+     * Addresses further left were sent by the client itself and could be anything.
+     */
+    String addressOf(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!trustedProxies.contains(address)) {
+            return address;
+        }
+        List<String> forwarded = new ArrayList<>();
+        Enumeration<String> headers = request.getHeaders(FORWARDED_FOR_HEADER);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String hop : headers.nextElement().split(",")) {
+                if (!hop.isBlank()) {
+                    forwarded.add(hop.trim());
+                }
+            }
+        }
+        for (int i = forwarded.size() - 1; i >= 0; i--) {
+            address = forwarded.get(i);
+            if (!trustedProxies.contains(address)) {
+                break;
+            }
+        }
+        return address;
+    }
+
+    static boolean isHeavy(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if ("POST".equals(request.getMethod())) {
+            return path.startsWith("/products/bulk-upload") || path.startsWith("/products/import-jobs");
+        }
+        if (path.equals("/products/export")) {
+            return true;
+        }
+        // Without the search index, a search reads every product of the categories it covers.
+        if (path.equals("/products/search")) {
+            return !request.getParameterMap().containsKey("category");
+        }
+        if (LISTING_PATHS.contains(path)) {
+            Map<String, String[]> parameters = request.getParameterMap();
+            for (String filter : FILTER_PARAMETERS) {
+                if (parameters.containsKey(filter)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Caps the requests of one class in flight; waits up to max-wait for a permit.
+     */
+    static final class Bulkhead {
+        private final String name;
+        private final int maxConcurrent;
+        private final long maxWaitNanos;
+        private final Semaphore permits;
+
+        private Counter rejections;
+
+        Bulkhead(String name, int maxConcurrent, Duration maxWait) {
+            this.name = name;
+            this.maxConcurrent = Math.max(1, maxConcurrent);
+            this.maxWaitNanos = maxWait.toNanos();
+            this.permits = new Semaphore(this.maxConcurrent);
+        }
+
+        void bindMetrics(MeterRegistry meterRegistry) {
+            rejections = Counter.builder("products.admission.rejections")
+                    .description("Requests rejected by admission control")
+                    .tag("reason", "bulkhead")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("products.admission.in.flight", this, Bulkhead::inFlight)
+                    .description("Admitted requests in progress")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("products.admission.limit", this, bulkhead -> bulkhead.maxConcurrent)
+                    .description("Requests allowed in progress at once")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+        }
+
+        void acquire(Duration retryAfter) {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                if (rejections != null) {
+                    rejections.increment();
+                }
+                throw new ServiceUnavailableException("Server is busy, too many " + name + " requests in progress.",
+                        retryAfter);
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+
+        int inFlight() {
+            return maxConcurrent - permits.availablePermits();
+        }
+    }
+}
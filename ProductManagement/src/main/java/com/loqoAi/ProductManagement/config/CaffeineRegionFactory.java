@@ -0,0 +1,33 @@
+package com.loqoAi.ProductManagement.config;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import com.github.benmanes.caffeine.jcache.CacheManagerImpl;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Second-level cache regions backed by Caffeine, with a cache manager per session factory.
+ *
+ * JCache providers hand out one shared cache manager per configuration URI, which
+ * Hibernate closes together with the session factory. A private manager keeps the
+ * regions of application contexts that run side by side (tests, benchmarks) apart.
+ * Region sizes are read from {@code hibernate.javax.cache.uri}, e.g.
+ * {@code classpath:hibernate-cache.conf}.
+ */
+public class CaffeineRegionFactory extends JCacheRegionFactory {
+
+    @Override
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map<String, Object> properties) {
+        Object uri = properties.getOrDefault(ConfigSettings.CONFIG_URI, "classpath:hibernate-cache.conf");
+        return new CacheManagerImpl(new CaffeineCachingProvider(), false, URI.create(uri.toString()),
+                getClass().getClassLoader(), new Properties());
+    }
+}
@@ -0,0 +1,71 @@
+package com.loqoAi.ProductManagement.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.loqoAi.ProductManagement.Service.ReplicaLagWindow;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * Active when {@code products.datasource.replica.jdbc-url} is set.
+ *
+ * The primary pool is configured as before from {@code spring.datasource.*}; the
+ * replica pool from {@code products.datasource.replica.*} (any Hikari setting). Both
+ * pools report their own {@code hikaricp.*} metrics, tagged with the pool name.
+ *
+ * Connections are only fetched when the first statement runs, once the transaction
+ * has marked the connection read-only, which picks the pool. Read-only transactions
+ * fall back to the primary while the replica is unavailable, and use it for
+ * {@code products.datasource.replica-max-lag} after every write ({@link ReplicaLagWindow}).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "products.datasource.replica", name = "jdbc-url")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("products.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 @Value("${products.datasource.replica-retry-after:30s}") Duration replicaRetryAfter,
+                                 ReplicaLagWindow replicaLagWindow,
+                                 MeterRegistry meterRegistry) {
+        ReplicaFallbackDataSource readOnlyDataSource =
+                new ReplicaFallbackDataSource(replicaDataSource, primaryDataSource, replicaRetryAfter, replicaLagWindow);
+        readOnlyDataSource.bindMetrics(meterRegistry);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,54 @@
+package com.loqoAi.ProductManagement.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wires the {@code @Timed} service methods, the per-request Hibernate statistics and
+ * the sampling of the slow query log.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final RequestQueryStatistics requestQueryStatistics;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.requestQueryStatistics = new RequestQueryStatistics(meterRegistry);
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryStatisticsCustomizer() {
+        return properties -> {
+            // Keep an inspector that was configured explicitly (tests and benchmarks use their own).
+            properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, requestQueryStatistics);
+            properties.putIfAbsent(AvailableSettings.INTERCEPTOR, requestQueryStatistics);
+        };
+    }
+
+    @Bean(destroyMethod = "uninstall")
+    @ConditionalOnProperty("products.slow-query-log.sample-rate")
+    public SlowQueryLogSampler slowQueryLogSampler(@Value("${products.slow-query-log.sample-rate}") double sampleRate) {
+        SlowQueryLogSampler sampler = new SlowQueryLogSampler(sampleRate);
+        sampler.install();
+        return sampler;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(requestQueryStatistics);
+    }
+}
@@ -0,0 +1,72 @@
+package com.loqoAi.ProductManagement.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+
+import com.loqoAi.ProductManagement.Service.ProductBinaryCodec;
+import com.loqoAi.ProductManagement.model.Product;
+
+/**
+ * Reads and writes {@code List<Product>} bodies in the {@link ProductBinaryCodec} format
+ * when the client asks for {@value ProductBinaryCodec#MEDIA_TYPE}.
+ */
+public class ProductBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<List<Product>> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(ProductBinaryCodec.MEDIA_TYPE);
+
+    public ProductBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isProductList(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isProductList(type) && canWrite(mediaType);
+    }
+
+    @Override
+    public List<Product> read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal(null, inputMessage);
+    }
+
+    @Override
+    protected List<Product> readInternal(Class<? extends List<Product>> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        return ProductBinaryCodec.read(ByteBuffer.wrap(inputMessage.getBody().readAllBytes()));
+    }
+
+    @Override
+    protected void writeInternal(List<Product> products, Type type, HttpOutputMessage outputMessage) throws IOException {
+        ProductBinaryCodec.write(products, outputMessage.getBody());
+    }
+
+    // Only element types known to be products; a raw List could hold anything.
+    private static boolean isProductList(Type type) {
+        if (type == null) {
+            return false;
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        if (!List.class.isAssignableFrom(resolved.toClass())) {
+            return false;
+        }
+        Class<?> element = resolved.asCollection().resolveGeneric(0);
+        return element != null && Product.class.isAssignableFrom(element);
+    }
+}
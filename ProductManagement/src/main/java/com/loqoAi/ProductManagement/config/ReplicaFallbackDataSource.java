@@ -0,0 +1,92 @@
+package com.loqoAi.ProductManagement.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import com.loqoAi.ProductManagement.Service.ReplicaLagWindow;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out replica connections, or primary connections while the replica is unavailable
+ * or may lag behind a recent write.
+ *
+ * When the replica fails to provide a connection, reads go to the primary for
+ * {@code retryAfter} before the replica is tried again, so an outage costs one
+ * connection timeout per interval rather than one per request. While the
+ * {@link ReplicaLagWindow} is open, reads go to the primary as well.
+ */
+public class ReplicaFallbackDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final long retryAfterNanos;
+    private final ReplicaLagWindow lagWindow;
+
+    private volatile boolean replicaDown;
+    private volatile long retryAt;
+
+    private Counter fallbacks;
+    private Counter recentWriteReads;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, Duration retryAfter,
+                                     ReplicaLagWindow lagWindow) {
+        super(replica);
+        this.primary = primary;
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.lagWindow = lagWindow;
+    }
+
+    void bindMetrics(MeterRegistry meterRegistry) {
+        fallbacks = Counter.builder("products.datasource.replica.fallbacks")
+                .description("Read connections taken from the primary because the replica was unavailable")
+                .register(meterRegistry);
+        recentWriteReads = Counter.builder("products.datasource.replica.recent.write.reads")
+                .description("Read connections taken from the primary because the replica may lag behind a recent write")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaDown() {
+        return replicaDown && System.nanoTime() - retryAt < 0;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (isReplicaDown()) {
+            return fallback();
+        }
+        if (lagWindow.isOpen()) {
+            if (recentWriteReads != null) {
+                recentWriteReads.increment();
+            }
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = super.getConnection();
+            replicaDown = false;
+            return connection;
+        } catch (SQLException e) {
+            retryAt = System.nanoTime() + retryAfterNanos;
+            replicaDown = true;
+            return fallback();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Credentials of the replica do not apply to the primary; no fallback here.
+        return super.getConnection(username, password);
+    }
+
+    private Connection fallback() throws SQLException {
+        if (fallbacks != null) {
+            fallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+}
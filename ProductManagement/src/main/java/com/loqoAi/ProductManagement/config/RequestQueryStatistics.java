@@ -0,0 +1,85 @@
+package com.loqoAi.ProductManagement.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements executed and entities loaded while handling a request
+ * and records them per endpoint. Counting is per thread, so work an endpoint hands
+ * off to another thread is not attributed to the request. For async endpoints the
+ * counts of the async dispatch are recorded.
+ */
+public class RequestQueryStatistics implements StatementInspector, Interceptor, AsyncHandlerInterceptor {
+
+    private static final ThreadLocal<int[]> COUNTS = new ThreadLocal<>();
+    private static final int STATEMENTS = 0;
+    private static final int ENTITIES = 1;
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestQueryStatistics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] counts = COUNTS.get();
+        if (counts != null) {
+            counts[STATEMENTS]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        int[] counts = COUNTS.get();
+        if (counts != null) {
+            counts[ENTITIES]++;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        COUNTS.set(new int[2]);
+        return true;
+    }
+
+    // afterCompletion is not called for a dispatch that started async handling; the servlet thread moves on.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        COUNTS.remove();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int[] counts = COUNTS.get();
+        COUNTS.remove();
+        if (counts == null) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("products.request.sql.statements")
+                .description("SQL statements executed per request")
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(counts[STATEMENTS]);
+        DistributionSummary.builder("products.request.entities.loaded")
+                .description("Entities loaded per request")
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(counts[ENTITIES]);
+    }
+}
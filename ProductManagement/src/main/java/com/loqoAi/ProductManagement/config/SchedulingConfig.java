@@ -0,0 +1,14 @@
+package com.loqoAi.ProductManagement.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the periodic writes of the catalog snapshot.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "products.snapshot.enabled", havingValue = "true")
+public class SchedulingConfig {
+}
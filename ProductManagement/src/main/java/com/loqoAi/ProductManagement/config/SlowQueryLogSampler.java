@@ -0,0 +1,55 @@
+package com.loqoAi.ProductManagement.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Lets through only a sample of Hibernate's slow query log entries
+ * ({@code org.hibernate.SQL_SLOW}), so a burst of slow statements under load does not
+ * turn into a burst of synchronous log writes. Other loggers are not affected.
+ */
+public class SlowQueryLogSampler extends TurboFilter {
+
+    static final String SLOW_QUERY_LOGGER = "org.hibernate.SQL_SLOW";
+
+    private final double sampleRate;
+
+    /**
+     * @param sampleRate The fraction of slow query entries logged, between 0 and 1.
+     */
+    public SlowQueryLogSampler(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Adds the sampler to the logging system.
+     */
+    public void install() {
+        start();
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).addTurboFilter(this);
+    }
+
+    /**
+     * Removes the sampler from the logging system again.
+     */
+    public void uninstall() {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getTurboFilterList().remove(this);
+        stop();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!SLOW_QUERY_LOGGER.equals(logger.getName()) || sampleRate >= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < sampleRate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
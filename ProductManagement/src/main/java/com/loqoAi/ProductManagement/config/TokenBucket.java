@@ -0,0 +1,49 @@
+package com.loqoAi.ProductManagement.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, refilled at a fixed rate up to a burst size.
+ *
+ * The bucket is kept as a single timestamp, the time at which it would be full again
+ * (the generic cell rate algorithm): taking a token moves it forward by one refill
+ * interval, and a request is admitted while that time stays within one burst of now.
+ * Concurrent callers race on one compare-and-set.
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param tokensPerSecond The refill rate.
+     * @param burst The bucket size, the number of requests admitted at once after a pause.
+     * @param now The current {@link System#nanoTime()}; the bucket starts full.
+     */
+    public TokenBucket(double tokensPerSecond, int burst, long now) {
+        this.nanosPerToken = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = nanosPerToken * Math.max(1, burst);
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     * @return 0 if a token was taken, otherwise the nanoseconds until the next token.
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.loqoAi.ProductManagement.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the binary product list format for content negotiation.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Added after the JSON converter, so JSON stays the default for Accept: */* and
+        // the binary format is only used when asked for explicitly.
+        converters.add(new ProductBinaryHttpMessageConverter());
+    }
+}
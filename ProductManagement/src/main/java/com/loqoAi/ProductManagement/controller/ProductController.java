@@ -1,24 +1,97 @@
 package com.loqoAi.ProductManagement.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.web.bind.annotation.*;
 
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.Service.CatalogVersions;
+import com.loqoAi.ProductManagement.Service.ProductBinaryCodec;
+import com.loqoAi.ProductManagement.Service.ParallelProductImporter;
+import com.loqoAi.ProductManagement.Service.ProductImportJobs;
+import com.loqoAi.ProductManagement.Service.ProductExport;
 import com.loqoAi.ProductManagement.Service.ProductService;
+import com.loqoAi.ProductManagement.Service.ProductStreamImporter;
+import com.loqoAi.ProductManagement.model.BulkImportSummary;
+import com.loqoAi.ProductManagement.model.ImportJobStatus;
 import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductFacets;
+import com.loqoAi.ProductManagement.model.ProductPage;
+import com.loqoAi.ProductManagement.model.ProductView;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/products")
 public class ProductController {
 
+    // Formats of the listings, in the order of the message converters: lists of products can also
+    // be written in the binary format (see WireFormatConfig), everything else only as JSON.
+    private static final List<MediaType> JSON = List.of(MediaType.APPLICATION_JSON);
+    private static final List<MediaType> JSON_OR_BINARY =
+            List.of(MediaType.APPLICATION_JSON, MediaType.parseMediaType(ProductBinaryCodec.MEDIA_TYPE));
+
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductStreamImporter productStreamImporter;
+
+    @Autowired
+    private ParallelProductImporter parallelProductImporter;
+
+    @Autowired
+    private ProductImportJobs productImportJobs;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    // Absent without a web environment; the default reads the Accept header, as Spring MVC's does.
+    @Autowired(required = false)
+    private ContentNegotiationManager contentNegotiationManager = new ContentNegotiationManager();
+
+    @Value("${products.http.max-age:0s}")
+    private Duration listingMaxAge = Duration.ZERO;
+
+    // Backed by virtual threads when spring.threads.virtual.enabled is set.
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
     @PostMapping
     public ResponseEntity<Product> addProduct(@Valid @RequestBody Product product) {
         Product savedProduct = productService.addProduct(product);
@@ -26,11 +99,55 @@ public class ProductController {
     }
 
     @PostMapping("/bulk-upload")
-    public ResponseEntity<Map<String, List<Product>>> bulkUpload(@RequestBody List<Product> products) {
-        Map<String, List<Product>> response = productService.saveAll(products);
+    public ResponseEntity<Map<String, List<Product>>> bulkUpload(@RequestBody List<Product> products,
+                                                                 @RequestParam(defaultValue = "false") boolean parallel) {
+        Map<String, List<Product>> response = parallel
+                ? parallelProductImporter.saveAll(products)
+                : productService.saveAll(products);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk-upload/stream",
+            consumes = {ProductStreamImporter.NDJSON, ProductStreamImporter.CSV},
+            produces = ProductStreamImporter.NDJSON)
+    public ResponseEntity<StreamingResponseBody> bulkUploadStream(HttpServletRequest request) throws IOException {
+        InputStream input = request.getInputStream();
+        String contentType = request.getContentType();
+        Iterator<Product> rows = productStreamImporter.openReader(input, contentType);
+
+        StreamingResponseBody body = output -> {
+            BulkImportSummary summary = productStreamImporter.importProducts(rows, progress -> writeLine(output, progress));
+            writeLine(output, summary);
+        };
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(HttpHeaders.CONTENT_TYPE, ProductStreamImporter.NDJSON)
+                .body(body);
+    }
+
+    @PostMapping(value = "/import-jobs", consumes = {ProductStreamImporter.NDJSON, ProductStreamImporter.CSV})
+    public ResponseEntity<ImportJobStatus> submitImportJob(HttpServletRequest request) throws IOException {
+        ImportJobStatus job = productImportJobs.submit(request.getInputStream(), request.getContentType());
+        return ResponseEntity.accepted()
+                .location(URI.create("/products/import-jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/import-jobs/{id}")
+    public ResponseEntity<ImportJobStatus> getImportJob(@PathVariable String id) {
+        ImportJobStatus job = productImportJobs.getStatus(id);
+        return new ResponseEntity<>(job, HttpStatus.OK);
+    }
+
+    private void writeLine(OutputStream output, Object value) {
+        try {
+            output.write(objectMapper.writeValueAsBytes(value));
+            output.write('\n');
+            output.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Client stopped reading the upload progress", e);
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<Product>> getProducts(
             @RequestParam(required = false) String category,
@@ -38,27 +155,224 @@ public class ProductController {
             @RequestParam(required = false) Double maxPrice,
             @RequestParam(required = false) Boolean inStock,
             @RequestParam(required = false) String sortField,
-            @RequestParam(required = false, defaultValue = "asc") String sortOrder) {
+            @RequestParam(required = false, defaultValue = "asc") String sortOrder,
+            WebRequest request) {
+
+        return conditional(request, category, JSON_OR_BINARY,
+                () -> productService.getProducts(category, minPrice, maxPrice, inStock, sortField, sortOrder));
+    }
+
+    @GetMapping("/view")
+    public ResponseEntity<List<ProductView>> getProductViews(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) String sortField,
+            @RequestParam(required = false, defaultValue = "asc") String sortOrder,
+            WebRequest request) {
 
-        List<Product> products = productService.getProducts(category, minPrice, maxPrice, inStock, sortField, sortOrder);
+        return conditional(request, category, JSON,
+                () -> productService.getProductViews(category, minPrice, maxPrice, inStock, sortField, sortOrder));
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ProductPage> getProductPage(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) String sortField,
+            @RequestParam(required = false, defaultValue = "asc") String sortOrder,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
+
+        return conditional(request, category, JSON,
+                () -> productService.getProductPage(category, minPrice, maxPrice, inStock, sortField, sortOrder, limit, cursor));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<Product>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) Integer limit) {
+
+        List<Product> products = productService.searchProducts(q, category, minPrice, maxPrice, inStock, limit);
         return new ResponseEntity<>(products, HttpStatus.OK);
     }
 
+    @GetMapping("/top")
+    public ResponseEntity<List<Product>> getTopProducts(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false, defaultValue = "rating") String sortField,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+
+        return conditional(request, category, JSON_OR_BINARY, () -> productService.getTopProducts(category, sortField, limit));
+    }
+
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_JSON_VALUE, ProductStreamImporter.NDJSON})
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) String sortField,
+            @RequestParam(required = false, defaultValue = "asc") String sortOrder,
+            @RequestParam(required = false, defaultValue = "json") String format) {
+
+        boolean ndjson;
+        if (format.equalsIgnoreCase("json")) {
+            ndjson = false;
+        } else if (format.equalsIgnoreCase("ndjson")) {
+            ndjson = true;
+        } else {
+            throw new BadRequestException("Invalid export format: " + format);
+        }
+        ProductExport export = productService.exportProducts(category, minPrice, maxPrice, inStock, sortField, sortOrder);
+
+        // Each product is serialized and handed to the response as soon as it is read.
+        StreamingResponseBody body = output -> {
+            ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            long count;
+            try (SequenceWriter sequence = ndjson
+                    ? writer.withRootValueSeparator("\n").writeValues(output)
+                    : writer.writeValuesAsArray(output)) {
+                count = export.writeTo(product -> {
+                    try {
+                        sequence.write(product);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Client stopped reading the export", e);
+                    }
+                });
+            }
+            if (ndjson && count > 0) {
+                output.write('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, ndjson ? ProductStreamImporter.NDJSON : MediaType.APPLICATION_JSON_VALUE)
+                .body(body);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<ProductFacets> getFacets(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) Integer buckets,
+            WebRequest request) {
+
+        return conditional(request, category, JSON,
+                () -> productService.getFacets(category, minPrice, maxPrice, inStock, buckets));
+    }
+
     @GetMapping("/category")
-    public ResponseEntity<List<Product>> getProductsByCategory(@RequestParam String category) {
-        List<Product> products = productService.getProductsByCategory(category);
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    public ResponseEntity<List<Product>> getProductsByCategory(@RequestParam String category, WebRequest request) {
+        return conditional(request, category, JSON_OR_BINARY, () -> productService.getProductsByCategory(category));
     }
 
     @GetMapping("/price-range")
-    public ResponseEntity<List<Product>> getProductsByPriceRange(@RequestParam double minPrice, @RequestParam double maxPrice) {
-        List<Product> products = productService.getProductsByPriceRange(minPrice, maxPrice);
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    public ResponseEntity<List<Product>> getProductsByPriceRange(@RequestParam double minPrice, @RequestParam double maxPrice,
+                                                                 WebRequest request) {
+        return conditional(request, null, JSON_OR_BINARY, () -> productService.getProductsByPriceRange(minPrice, maxPrice));
     }
 
     @GetMapping("/in-stock")
-    public ResponseEntity<List<Product>> getProductsByInStock(@RequestParam boolean inStock) {
-        List<Product> products = productService.getProductsByInStock(inStock);
-        return new ResponseEntity<>(products, HttpStatus.OK);
+    public ResponseEntity<List<Product>> getProductsByInStock(@RequestParam boolean inStock, WebRequest request) {
+        return conditional(request, null, JSON_OR_BINARY, () -> productService.getProductsByInStock(inStock));
+    }
+
+    @GetMapping("/async")
+    public CompletableFuture<ResponseEntity<List<Product>>> getProductsAsync(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean inStock,
+            @RequestParam(required = false) String sortField,
+            @RequestParam(required = false, defaultValue = "asc") String sortOrder,
+            WebRequest request) {
+
+        return conditionalAsync(request, category, JSON_OR_BINARY,
+                () -> productService.getProducts(category, minPrice, maxPrice, inStock, sortField, sortOrder));
+    }
+
+    @GetMapping("/async/category")
+    public CompletableFuture<ResponseEntity<List<Product>>> getProductsByCategoryAsync(@RequestParam String category, WebRequest request) {
+        return conditionalAsync(request, category, JSON_OR_BINARY, () -> productService.getProductsByCategory(category));
+    }
+
+    @GetMapping("/async/price-range")
+    public CompletableFuture<ResponseEntity<List<Product>>> getProductsByPriceRangeAsync(@RequestParam double minPrice, @RequestParam double maxPrice,
+                                                                                         WebRequest request) {
+        return conditionalAsync(request, null, JSON_OR_BINARY, () -> productService.getProductsByPriceRange(minPrice, maxPrice));
+    }
+
+    @GetMapping("/async/in-stock")
+    public CompletableFuture<ResponseEntity<List<Product>>> getProductsByInStockAsync(@RequestParam boolean inStock, WebRequest request) {
+        return conditionalAsync(request, null, JSON_OR_BINARY, () -> productService.getProductsByInStock(inStock));
+    }
+
+    /**
+     * Answers 304 Not Modified, before the query runs, when the client already holds the
+     * current version of the listing in the format it asks for; otherwise returns the body
+     * tagged with that version and format. Listings filtered by category depend on that
+     * category's version only.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, String category, List<MediaType> producible,
+                                              Supplier<T> body) {
+        String etag = catalogVersions.etag(category, negotiate(request, producible).getSubtype());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(listingCacheControl()).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(listingCacheControl()).varyBy(HttpHeaders.ACCEPT).body(body.get());
+    }
+
+    // The version check runs on the request thread; only the query is handed off.
+    private <T> CompletableFuture<ResponseEntity<T>> conditionalAsync(WebRequest request, String category,
+                                                                      List<MediaType> producible, Supplier<T> body) {
+        String etag = catalogVersions.etag(category, negotiate(request, producible).getSubtype());
+        if (request.checkNotModified(etag)) {
+            return CompletableFuture.completedFuture(
+                    ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(listingCacheControl()).varyBy(HttpHeaders.ACCEPT).build());
+        }
+        return CompletableFuture.supplyAsync(
+                () -> ResponseEntity.ok().eTag(etag).cacheControl(listingCacheControl()).varyBy(HttpHeaders.ACCEPT).body(body.get()), taskExecutor);
+    }
+
+    /**
+     * Returns the format the message converters will write the listing in: of the producible
+     * types the client accepts, the preferred and most specific one, ties going to the first
+     * producible type, as in Spring MVC's own content negotiation. Falls back to the first
+     * producible type when none is acceptable; the response is then a 406 without an ETag.
+     */
+    private MediaType negotiate(WebRequest request, List<MediaType> producible) {
+        List<MediaType> accepted;
+        try {
+            accepted = contentNegotiationManager.resolveMediaTypes((NativeWebRequest) request);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return producible.get(0);
+        }
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType acceptable : accepted) {
+            for (MediaType type : producible) {
+                if (acceptable.isCompatibleWith(type)) {
+                    compatible.add(type.copyQualityValue(acceptable));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        return compatible.isEmpty() ? producible.get(0) : compatible.get(0);
+    }
+
+    // Caches may keep listings for max-age, then must revalidate them with the ETag. Listings come
+    // as JSON or in the binary format, so caches also key them by the Accept header.
+    private CacheControl listingCacheControl() {
+        return CacheControl.maxAge(listingMaxAge).cachePublic().mustRevalidate();
     }
 }
@@ -0,0 +1,26 @@
+package com.loqoAi.ProductManagement.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress line written after each chunk of a streaming bulk upload.
+ * Carries ids and keys only, never the uploaded entities.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkChunkProgress {
+    private final String type = "chunk";
+    private int chunk;
+    private long rowsRead;
+    private int saved;
+    private int duplicates;
+    private int rejected;
+    private List<Long> savedIds;
+    private List<ProductKey> duplicateKeys;
+    private List<String> rejections;
+}
@@ -0,0 +1,26 @@
+package com.loqoAi.ProductManagement.model;
+
+import lombok.Data;
+
+/**
+ * Final counts of a streaming bulk upload.
+ */
+@Data
+public class BulkImportSummary {
+    private final String type = "summary";
+    private int chunks;
+    private long rowsRead;
+    private long saved;
+    private long duplicates;
+    private long rejected;
+    private long elapsedMillis;
+    private String error;
+
+    public void add(BulkChunkProgress progress) {
+        chunks++;
+        rowsRead = progress.getRowsRead();
+        saved += progress.getSaved();
+        duplicates += progress.getDuplicates();
+        rejected += progress.getRejected();
+    }
+}
@@ -0,0 +1,16 @@
+package com.loqoAi.ProductManagement.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of writing one chunk of a bulk upload.
+ */
+@Data
+@AllArgsConstructor
+public class BulkSaveResult {
+    private List<Product> savedProducts;
+    private List<Product> existingProducts;
+}
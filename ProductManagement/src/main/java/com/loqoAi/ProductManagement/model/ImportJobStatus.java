@@ -0,0 +1,32 @@
+package com.loqoAi.ProductManagement.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot of a background bulk import job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobStatus {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private String id;
+    private State state;
+    private long uploadedBytes;
+    private int chunks;
+    private long rowsRead;
+    private long saved;
+    private long duplicates;
+    private long rejected;
+    private double rowsPerSecond;
+    private Date submittedAt;
+    private Date startedAt;
+    private Date finishedAt;
+    private String error;
+}
@@ -1,13 +1,23 @@
 package com.loqoAi.ProductManagement.model;
 
 import java.util.Date;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
@@ -15,7 +25,18 @@ import lombok.*;
 
 @Data
 @Entity
-@Table(name = "products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
+@NaturalIdCache(region = "products-natural-id")
+@Table(name = "products",
+        uniqueConstraints = @UniqueConstraint(name = "uk_products_name_category", columnNames = {"name", "category"}),
+        indexes = {
+                @Index(name = "idx_products_category_price", columnList = "category, price"),
+                @Index(name = "idx_products_category_created_at", columnList = "category, created_at"),
+                @Index(name = "idx_products_in_stock_price", columnList = "in_stock, price"),
+                @Index(name = "idx_products_price", columnList = "price"),
+                @Index(name = "idx_products_created_at", columnList = "created_at")
+        })
 @AllArgsConstructor
 @NoArgsConstructor
 public class Product {
@@ -23,9 +44,11 @@ public class Product {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @NotBlank(message = "Name is mandatory")
     private String name;
 
+    @NaturalId
     @NotBlank(message = "Category is mandatory")
     private String category;
 
@@ -39,6 +62,13 @@ public class Product {
 
     @Temporal(TemporalType.TIMESTAMP)
     private Date createdAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = new Date();
+        }
+    }
 }
 
 
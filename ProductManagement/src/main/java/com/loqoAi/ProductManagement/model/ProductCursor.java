@@ -0,0 +1,69 @@
+package com.loqoAi.ProductManagement.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+
+/**
+ * Position of the last row of a page: the value of the sort field and the id
+ * used as tiebreaker. Exchanged with clients as an opaque URL-safe token.
+ */
+public record ProductCursor(String sortField, boolean descending, Comparable<?> value, long id) {
+
+    private static final String NULL_VALUE = "~";
+
+    public static ProductCursor after(Product product, String sortField, boolean descending) {
+        Comparable<?> value = switch (sortField) {
+            case "createdAt" -> product.getCreatedAt();
+            case "price" -> product.getPrice();
+            case "rating" -> product.getRating();
+            case "name" -> product.getName();
+            default -> throw new BadRequestException("Invalid sort field: " + sortField);
+        };
+        return new ProductCursor(sortField, descending, value, product.getId());
+    }
+
+    public String encode() {
+        String encodedValue;
+        if (value == null) {
+            encodedValue = NULL_VALUE;
+        } else if (value instanceof Date date) {
+            encodedValue = Long.toString(date.getTime());
+        } else {
+            encodedValue = value.toString();
+        }
+        String raw = sortField + "|" + (descending ? "desc" : "asc") + "|" + id + "|" + encodedValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws BadRequestException If the token is malformed.
+     */
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            String sortField = parts[0];
+            boolean descending = "desc".equals(parts[1]);
+            long id = Long.parseLong(parts[2]);
+            String encodedValue = parts[3];
+
+            Comparable<?> value;
+            if (NULL_VALUE.equals(encodedValue)) {
+                value = null;
+            } else {
+                value = switch (sortField) {
+                    case "createdAt" -> new Date(Long.parseLong(encodedValue));
+                    case "price", "rating" -> Double.parseDouble(encodedValue);
+                    case "name" -> encodedValue;
+                    default -> throw new IllegalArgumentException(sortField);
+                };
+            }
+            return new ProductCursor(sortField, descending, value, id);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.loqoAi.ProductManagement.model;
+
+import java.util.List;
+
+/**
+ * Aggregates over the products matching a set of filters: totals, price and rating
+ * statistics, per-category counts and a price histogram.
+ */
+public record ProductFacets(long count, long inStockCount, double inStockRatio, Stats price, Stats rating,
+                            List<CategoryFacet> categories, List<PriceBucket> priceHistogram) {
+
+    /** Minimum, maximum and average of a numeric field; all null when nothing matched. */
+    public record Stats(Double min, Double max, Double avg) {
+    }
+
+    public record CategoryFacet(String category, long count, long inStockCount, double inStockRatio) {
+    }
+
+    /** Products priced in [from, to); the last bucket also includes {@code to}. */
+    public record PriceBucket(double from, double to, long count) {
+    }
+
+    public static double ratio(long part, long total) {
+        return total == 0 ? 0.0 : (double) part / total;
+    }
+}
@@ -0,0 +1,23 @@
+package com.loqoAi.ProductManagement.model;
+
+import java.util.Locale;
+
+/**
+ * Business key of a product: a product is unique by its name within a category.
+ */
+public record ProductKey(String name, String category) {
+
+    public static ProductKey of(Product product) {
+        return new ProductKey(product.getName(), product.getCategory());
+    }
+
+    /**
+     * Returns the key as the unique index compares it: the default MySQL collations
+     * ignore case, so "Phone" in "ELECTRONICS" is the same product as "phone" in
+     * "electronics".
+     */
+    public ProductKey normalized() {
+        return new ProductKey(name != null ? name.toLowerCase(Locale.ROOT) : null,
+                category != null ? category.toLowerCase(Locale.ROOT) : null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.loqoAi.ProductManagement.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One page of a keyset-paginated product listing.
+ * {@code nextCursor} is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+public class ProductPage {
+    private List<Product> items;
+    private String nextCursor;
+}
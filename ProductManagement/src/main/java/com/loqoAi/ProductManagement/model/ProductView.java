@@ -0,0 +1,11 @@
+package com.loqoAi.ProductManagement.model;
+
+import java.util.Date;
+
+/**
+ * Read-only copy of a {@link Product} row, built directly from query results
+ * without creating a managed entity. Serializes to the same JSON as Product.
+ */
+public record ProductView(Long id, String name, String category, double price, boolean inStock,
+                          double rating, Date createdAt) {
+}
@@ -0,0 +1,34 @@
+package com.loqoAi.ProductManagement.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductKey;
+
+/**
+ * Duplicate checks and set-based operations used by the add and bulk upload paths.
+ */
+public interface ProductBulkRepository {
+
+    /**
+     * Looks a product up by its natural id (name, category). Served from the
+     * second-level cache when the product has been seen before.
+     */
+    Optional<Product> findByNameAndCategory(String name, String category);
+
+    /**
+     * Returns the subset of the given keys that already exist in the database, compared
+     * as {@link ProductKey#normalized()}. Keys in the natural-id cache are resolved
+     * without a query; the others are looked up in batches.
+     */
+    Set<ProductKey> findExistingKeys(Collection<ProductKey> keys);
+
+    /**
+     * Inserts the given products as one JDBC batch in a single transaction and
+     * assigns the generated ids back onto them.
+     */
+    void insertAll(List<Product> products);
+}
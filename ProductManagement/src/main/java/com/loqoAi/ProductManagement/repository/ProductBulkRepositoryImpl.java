@@ -0,0 +1,143 @@
+package com.loqoAi.ProductManagement.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.hibernate.Session;
+import org.hibernate.engine.spi.NaturalIdResolutions;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductKey;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * JDBC/Hibernate backed implementation of {@link ProductBulkRepository}.
+ *
+ * Inserts bypass Hibernate on purpose: with IDENTITY id generation Hibernate
+ * has to execute every INSERT on its own to read the key back, so JDBC
+ * batching is never used for {@link Product}.
+ */
+public class ProductBulkRepositoryImpl implements ProductBulkRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO products (name, category, price, in_stock, rating, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Duplicate checks are not read-only: they must see the latest writes, so they
+    // run on the primary when reads are routed to a replica.
+    @Override
+    @Transactional
+    public Optional<Product> findByNameAndCategory(String name, String category) {
+        return entityManager.unwrap(Session.class)
+                .byNaturalId(Product.class)
+                .using("name", name)
+                .using("category", category)
+                .loadOptional();
+    }
+
+    @Override
+    @Transactional
+    public Set<ProductKey> findExistingKeys(Collection<ProductKey> keys) {
+        Set<ProductKey> existingKeys = new HashSet<>();
+        if (keys.isEmpty()) {
+            return existingKeys;
+        }
+
+        // Keys in the natural-id cache resolve without SQL.
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Product.class);
+        NaturalIdResolutions resolutions = session.getPersistenceContextInternal().getNaturalIdResolutions();
+        Set<String> names = new HashSet<>();
+        Set<String> categories = new HashSet<>();
+        Map<ProductKey, List<ProductKey>> requested = new HashMap<>();
+        for (ProductKey key : keys) {
+            Object naturalId = persister.getNaturalIdMapping().normalizeInput(
+                    Map.of("name", key.name(), "category", key.category()));
+            if (resolutions.findCachedIdByNaturalId(naturalId, persister) != null) {
+                existingKeys.add(key);
+            } else {
+                names.add(key.name());
+                categories.add(key.category());
+                requested.computeIfAbsent(key.normalized(), normalized -> new ArrayList<>()).add(key);
+            }
+        }
+        if (names.isEmpty()) {
+            return existingKeys;
+        }
+
+        // Narrow the rest by both columns, then keep the (name, category) pairs equal to a row the way the
+        // unique index compares them, ignoring case as the IN lookup did. Loading the entities puts them in
+        // the second-level cache for the next check.
+        List<Product> products = entityManager.createQuery(
+                        "SELECT p FROM Product p WHERE p.category IN :categories AND p.name IN :names", Product.class)
+                .setParameter("categories", categories)
+                .setParameter("names", names)
+                .getResultList();
+
+        for (Product product : products) {
+            List<ProductKey> matches = requested.get(ProductKey.of(product).normalized());
+            if (matches != null) {
+                existingKeys.addAll(matches);
+            }
+        }
+        return existingKeys;
+    }
+
+    @Override
+    @Transactional
+    public void insertAll(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Product product : products) {
+                    statement.setString(1, product.getName());
+                    statement.setString(2, product.getCategory());
+                    statement.setDouble(3, product.getPrice());
+                    statement.setBoolean(4, product.isInStock());
+                    statement.setDouble(5, product.getRating());
+                    if (product.getCreatedAt() == null) {
+                        product.setCreatedAt(new Date());
+                    }
+                    statement.setTimestamp(6, new Timestamp(product.getCreatedAt().getTime()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+                    int index = 0;
+                    while (generatedKeys.next() && index < products.size()) {
+                        products.get(index++).setId(generatedKeys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.loqoAi.ProductManagement.repository;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.loqoAi.ProductManagement.model.Product;
+
+/**
+ * Forward-only reads of result sets too large to hold in memory.
+ */
+public interface ProductExportRepository {
+
+    /**
+     * Streams the matching products from a database cursor, fetching {@code fetchSize}
+     * rows per round trip. Products are detached as they are handed out, so the
+     * persistence context does not grow with the result. Must be consumed inside a
+     * transaction and closed afterwards.
+     */
+    Stream<Product> streamAll(Specification<Product> spec, Sort sort, int fetchSize);
+}
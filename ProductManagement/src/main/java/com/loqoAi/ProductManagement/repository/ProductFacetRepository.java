@@ -0,0 +1,15 @@
+package com.loqoAi.ProductManagement.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductFacets;
+
+/**
+ * Aggregations computed by the database, so that counting products does not
+ * require loading them.
+ */
+public interface ProductFacetRepository {
+
+    ProductFacets findFacets(Specification<Product> spec, int priceBuckets);
+}
@@ -0,0 +1,137 @@
+package com.loqoAi.ProductManagement.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductFacets;
+import com.loqoAi.ProductManagement.model.ProductFacets.CategoryFacet;
+import com.loqoAi.ProductManagement.model.ProductFacets.PriceBucket;
+import com.loqoAi.ProductManagement.model.ProductFacets.Stats;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Computes facets with at most three aggregate queries, each returning a handful of
+ * rows: overall statistics, a GROUP BY category, and one row of cumulative price
+ * counts from which the histogram buckets are derived.
+ */
+public class ProductFacetRepositoryImpl implements ProductFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductFacets findFacets(Specification<Product> spec, int priceBuckets) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> totalsQuery = cb.createTupleQuery();
+        Root<Product> root = totalsQuery.from(Product.class);
+        totalsQuery.multiselect(
+                cb.count(root), inStockCount(cb, root),
+                cb.min(root.<Double>get("price")), cb.max(root.<Double>get("price")), cb.avg(root.<Double>get("price")),
+                cb.min(root.<Double>get("rating")), cb.max(root.<Double>get("rating")), cb.avg(root.<Double>get("rating")));
+        where(totalsQuery, root, cb, spec);
+        Tuple totals = entityManager.createQuery(totalsQuery).getSingleResult();
+
+        long count = totals.get(0, Long.class);
+        long inStock = longValue(totals.get(1));
+        Stats price = new Stats(totals.get(2, Double.class), totals.get(3, Double.class), totals.get(4, Double.class));
+        Stats rating = new Stats(totals.get(5, Double.class), totals.get(6, Double.class), totals.get(7, Double.class));
+        if (count == 0) {
+            return new ProductFacets(0, 0, 0.0, price, rating, List.of(), List.of());
+        }
+
+        return new ProductFacets(count, inStock, ProductFacets.ratio(inStock, count), price, rating,
+                findCategoryFacets(cb, spec), findPriceHistogram(cb, spec, count, price.min(), price.max(), priceBuckets));
+    }
+
+    private List<CategoryFacet> findCategoryFacets(CriteriaBuilder cb, Specification<Product> spec) {
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        Expression<Long> count = cb.count(root);
+        query.multiselect(root.get("category"), count, inStockCount(cb, root));
+        where(query, root, cb, spec);
+        query.groupBy(root.get("category"));
+        query.orderBy(cb.desc(count), cb.asc(root.get("category")));
+
+        List<CategoryFacet> facets = new ArrayList<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            long categoryCount = row.get(1, Long.class);
+            long categoryInStock = longValue(row.get(2));
+            facets.add(new CategoryFacet(row.get(0, String.class), categoryCount, categoryInStock,
+                    ProductFacets.ratio(categoryInStock, categoryCount)));
+        }
+        return facets;
+    }
+
+    /**
+     * Equal-width buckets between the minimum and maximum price. Selects, for every inner
+     * bucket edge, the number of products priced below it; the bucket counts are the
+     * differences. Unlike grouping by a computed bucket number, this keeps the SQL free
+     * of parameterized GROUP BY expressions.
+     */
+    private List<PriceBucket> findPriceHistogram(CriteriaBuilder cb, Specification<Product> spec,
+                                                 long count, double min, double max, int buckets) {
+        if (min == max || buckets == 1) {
+            return List.of(new PriceBucket(min, max, count));
+        }
+
+        double width = (max - min) / buckets;
+        double[] edges = new double[buckets + 1];
+        for (int i = 0; i <= buckets; i++) {
+            edges[i] = i == buckets ? max : min + i * width;
+        }
+
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        List<Selection<?>> below = new ArrayList<>();
+        for (int i = 1; i < buckets; i++) {
+            below.add(cb.sum(cb.<Long>selectCase()
+                    .when(cb.lessThan(root.get("price"), edges[i]), 1L)
+                    .otherwise(0L)));
+        }
+        query.multiselect(below);
+        where(query, root, cb, spec);
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+
+        List<PriceBucket> histogram = new ArrayList<>(buckets);
+        long previous = 0;
+        for (int i = 0; i < buckets; i++) {
+            long cumulative = i < buckets - 1 ? longValue(row.get(i)) : count;
+            histogram.add(new PriceBucket(edges[i], edges[i + 1], cumulative - previous));
+            previous = cumulative;
+        }
+        return histogram;
+    }
+
+    private Expression<Long> inStockCount(CriteriaBuilder cb, Root<Product> root) {
+        return cb.sum(cb.<Long>selectCase()
+                .when(cb.isTrue(root.get("inStock")), 1L)
+                .otherwise(0L));
+    }
+
+    private void where(CriteriaQuery<?> query, Root<Product> root, CriteriaBuilder cb, Specification<Product> spec) {
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    // SUM over no rows is NULL, and some databases widen it to a decimal type.
+    private static long longValue(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+}
@@ -1,34 +1,41 @@
 package com.loqoAi.ProductManagement.repository;
 
 import java.util.List;
-import java.util.Optional;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.loqoAi.ProductManagement.model.Product;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>,
+        ProductBulkRepository, ProductViewRepository, ProductFacetRepository, ProductExportRepository {
 
+    // Declared queries get no transaction of their own; read-only ones go to the replica when
+    // one is configured. Callers only reach them on a cache miss, so a hit takes no connection.
+    @Transactional(readOnly = true)
     List<Product> findByCategory(String category);
 
+    @Transactional(readOnly = true)
     @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice")
     List<Product> findByPriceRange(@Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice);
 
+    @Transactional(readOnly = true)
     List<Product> findByInStock(boolean inStock);
 
-    @Query("SELECT p FROM Product p WHERE (:category is null or p.category = :category) " +
-            "AND (:minPrice is null or p.price >= :minPrice) " +
-            "AND (:maxPrice is null or p.price <= :maxPrice) " +
-            "AND (:inStock is null or p.inStock = :inStock)")
-    List<Product> findByFilters(@Param("category") String category,
-                                @Param("minPrice") Double minPrice,
-                                @Param("maxPrice") Double maxPrice,
-                                @Param("inStock") Boolean inStock,
-                                Sort sort);
-
-	Optional<Product> findByNameAndCategory(String name, String category);
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    boolean existsByIdGreaterThan(Long id);
+
+    long countByIdLessThanEqual(Long id);
+
+    @Query("SELECT MAX(p.id) FROM Product p")
+    Long findMaxId();
+
+    @Query("SELECT DISTINCT p.category FROM Product p WHERE p.id > :id")
+    List<String> findCategoriesByIdGreaterThan(@Param("id") long id);
 }
 
@@ -0,0 +1,89 @@
+package com.loqoAi.ProductManagement.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductCursor;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Criteria predicates for product queries.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Matches the optional listing filters; null arguments are left out of the query.
+     */
+    public static Specification<Product> filters(String category, Double minPrice, Double maxPrice, Boolean inStock) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>(4);
+            if (category != null) {
+                predicates.add(cb.equal(root.get("category"), category));
+            }
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), maxPrice));
+            }
+            if (inStock != null) {
+                predicates.add(cb.equal(root.get("inStock"), inStock));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Matches the rows whose name or category contains every one of the given
+     * lower-case terms. Used while the in-memory search index is not loaded yet.
+     */
+    public static Specification<Product> containsTerms(List<String> terms) {
+        return (root, query, cb) -> {
+            Expression<String> name = cb.lower(root.get("name"));
+            Expression<String> category = cb.lower(root.get("category"));
+            List<Predicate> predicates = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                String pattern = "%" + term + "%";
+                predicates.add(cb.or(cb.like(name, pattern), cb.like(category, pattern)));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Matches the rows that come after the cursor in (sortField, id) order.
+     * Nulls sort first ascending and last descending, as in MySQL.
+     */
+    public static Specification<Product> after(ProductCursor cursor) {
+        return (root, query, cb) -> {
+            Path<Comparable<Object>> field = root.get(cursor.sortField());
+            Path<Long> id = root.get("id");
+
+            if (cursor.value() == null) {
+                Predicate sameNull = cb.and(cb.isNull(field), tiebreak(cb, id, cursor));
+                return cursor.descending() ? sameNull : cb.or(sameNull, cb.isNotNull(field));
+            }
+
+            @SuppressWarnings("unchecked")
+            Comparable<Object> value = (Comparable<Object>) cursor.value();
+            Predicate beyond = cursor.descending() ? cb.lessThan(field, value) : cb.greaterThan(field, value);
+            Predicate sameValue = cb.and(cb.equal(field, value), tiebreak(cb, id, cursor));
+            Predicate next = cb.or(beyond, sameValue);
+            return cursor.descending() ? cb.or(next, cb.isNull(field)) : next;
+        };
+    }
+
+    private static Predicate tiebreak(CriteriaBuilder cb, Expression<Long> id, ProductCursor cursor) {
+        return cursor.descending() ? cb.lessThan(id, cursor.id()) : cb.greaterThan(id, cursor.id());
+    }
+}
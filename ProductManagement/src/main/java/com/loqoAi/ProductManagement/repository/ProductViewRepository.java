@@ -0,0 +1,17 @@
+package com.loqoAi.ProductManagement.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductView;
+
+/**
+ * Read path that returns {@link ProductView} records instead of managed entities.
+ */
+public interface ProductViewRepository {
+
+    List<ProductView> findViews(Specification<Product> spec, Sort sort);
+}
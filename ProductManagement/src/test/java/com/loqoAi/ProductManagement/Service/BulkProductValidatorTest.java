@@ -0,0 +1,71 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.Exceptions.BulkValidationException;
+import com.loqoAi.ProductManagement.model.Product;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkProductValidatorTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void testCheckMatchesBeanValidation() {
+        List<String> texts = Arrays.asList(null, "", " ", "\t\n", "\u0000", "a", " a ", " ");
+        double[] numbers = {-1.0, -0.0, 0.0, Double.MIN_VALUE, 4.5, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        for (String text : texts) {
+            for (double number : numbers) {
+                Product product = new Product(null, text, text == null ? "Category1" : "Category1" + text, number, true, 4.5 - number, null);
+                Set<ConstraintViolation<Product>> violations = validator.validate(product);
+                String expected = violations.isEmpty() ? null : violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+                assertEquals(expected, BulkProductValidator.check(product), () -> product.toString());
+            }
+        }
+        assertEquals("Category is mandatory, Name is mandatory, Price must be positive, Rating must be positive",
+                BulkProductValidator.check(new Product()));
+    }
+
+    @Test
+    void testSplitsRepeatedKeys() {
+        Product first = new Product(null, "Product1", "Category1", 10.0, true, 4.0, null);
+        Product other = new Product(null, "Product1", "Category2", 10.0, true, 4.0, null);
+        Product repeat = new Product(null, "Product1", "Category1", 12.0, false, 3.0, null);
+        Product last = new Product(null, "Product2", "Category1", 10.0, true, 4.0, null);
+
+        BulkProductValidator.Result result = BulkProductValidator.validate(List.of(first, other, repeat, last, repeat));
+
+        assertEquals(List.of(first, other, last), result.unique());
+        assertEquals(List.of(repeat, repeat), result.repeated());
+
+        List<Product> distinct = List.of(first, other, last);
+        assertSame(distinct, BulkProductValidator.validate(distinct).unique());
+    }
+
+    @Test
+    void testRejectsPayloadWithInvalidRows() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            products.add(new Product(null, "Product" + i, "Category1", i % 2 == 0 ? -1.0 : 10.0, true, 4.0, null));
+        }
+        products.set(0, new Product(null, " ", "Category1", 10.0, true, 0.0, null));
+
+        BulkValidationException thrown = assertThrows(BulkValidationException.class,
+                () -> BulkProductValidator.validate(products));
+
+        assertEquals("151 of 300 products failed validation.", thrown.getMessage());
+        assertEquals(151, thrown.getRejectedCount());
+        assertEquals(BulkProductValidator.MAX_REPORTED_REJECTIONS, thrown.getRejections().size());
+        assertEquals("row 1: Name is mandatory, Rating must be positive", thrown.getRejections().get(0));
+        assertEquals("row 2: Price must be positive", thrown.getRejections().get(1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CatalogVersionsTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductQueryCache productQueryCache = new ProductQueryCache(100, Duration.ofMinutes(1));
+    private final ReplicaLagWindow replicaLagWindow = new ReplicaLagWindow();
+    private final CatalogVersions catalogVersions = new CatalogVersions();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(catalogVersions, "productRepository", productRepository);
+        ReflectionTestUtils.setField(catalogVersions, "productQueryCache", productQueryCache);
+        ReflectionTestUtils.setField(catalogVersions, "replicaLagWindow", replicaLagWindow);
+        ReflectionTestUtils.setField(catalogVersions, "checkInterval", Duration.ZERO);
+        when(productRepository.findMaxId()).thenReturn(10L);
+    }
+
+    @Test
+    void testWriteOfAnotherInstanceChangesEtag() {
+        productQueryCache.get(ProductQuery.category("Category1"), List::of);
+        productQueryCache.get(ProductQuery.category("Category2"), List::of);
+        String etag = catalogVersions.etag("Category1");
+        String other = catalogVersions.etag("Category2");
+        String global = catalogVersions.etag(null);
+        assertEquals(etag, catalogVersions.etag("Category1"));
+        assertEquals(2, productQueryCache.size());
+        assertFalse(replicaLagWindow.isOpen());
+
+        when(productRepository.findMaxId()).thenReturn(12L);
+        when(productRepository.findCategoriesByIdGreaterThan(10L)).thenReturn(List.of("Category1", "Category1"));
+        assertNotEquals(etag, catalogVersions.etag("Category1"));
+        assertEquals(other, catalogVersions.etag("Category2"));
+        assertNotEquals(global, catalogVersions.etag(null));
+        // Cached listings of the category were dropped before the new version was handed out,
+        // and are reloaded from the primary.
+        assertEquals(1, productQueryCache.size());
+        assertTrue(replicaLagWindow.isOpen());
+        verify(productRepository, times(1)).findCategoriesByIdGreaterThan(anyLong());
+    }
+
+    @Test
+    void testDeletedRowsChangeEveryEtag() {
+        String etag = catalogVersions.etag("Category1");
+        when(productRepository.findMaxId()).thenReturn(8L);
+        assertNotEquals(etag, catalogVersions.etag("Category1"));
+        verify(productRepository, never()).findCategoriesByIdGreaterThan(anyLong());
+    }
+
+    @Test
+    void testOwnWriteBumpsVersion() {
+        String etag = catalogVersions.etag(null);
+        catalogVersions.onProductsChanged(new ProductsChangedEvent(List.of(
+                new Product(11L, "Product11", "Category2", 10.0, true, 4.0, new Date()))));
+
+        String changed = catalogVersions.etag(null);
+        assertNotEquals(etag, changed);
+        assertEquals(1, catalogVersions.categoryVersion("Category2"));
+        assertEquals(changed, catalogVersions.etag(null));
+    }
+
+    @Test
+    void testUnknownCategoriesKeepNoState() {
+        ReflectionTestUtils.setField(catalogVersions, "checkInterval", Duration.ofMinutes(1));
+        String etag = catalogVersions.etag("Category1");
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(etag, catalogVersions.etag("Random" + i));
+        }
+        // One cheap read per interval, whatever the categories asked for.
+        verify(productRepository, times(1)).findMaxId();
+        verifyNoMoreInteractions(productRepository);
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(catalogVersions, "categories")).isEmpty());
+    }
+}
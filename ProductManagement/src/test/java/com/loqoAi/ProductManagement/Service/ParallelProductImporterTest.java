@@ -0,0 +1,94 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.model.BulkSaveResult;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ParallelProductImporterTest {
+
+    @Mock
+    private ProductService productService;
+
+    private ParallelProductImporter parallelProductImporter;
+
+    // Keys "in the database", shared by all workers like the real unique index.
+    private final Set<ProductKey> storedKeys = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        parallelProductImporter = new ParallelProductImporter(4, 2);
+        ReflectionTestUtils.setField(parallelProductImporter, "productService", productService);
+        ReflectionTestUtils.setField(parallelProductImporter, "productMetrics", new ProductMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(parallelProductImporter, "chunkSize", 10);
+        when(productService.saveChunk(anyList())).thenAnswer(invocation -> {
+            List<Product> chunk = invocation.getArgument(0);
+            List<Product> saved = new ArrayList<>();
+            List<Product> existing = new ArrayList<>();
+            for (Product product : chunk) {
+                (storedKeys.add(ProductKey.of(product)) ? saved : existing).add(product);
+            }
+            return new BulkSaveResult(saved, existing);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelProductImporter.shutdown();
+    }
+
+    @Test
+    void testSaveAll_MergesPartitionsInInputOrder() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            // Every fifth product repeats an earlier key.
+            int key = i % 5 == 4 ? i - 2 : i;
+            products.add(new Product(null, "Product" + key, "Category" + (key % 3), 10.0 + i, true, 4.0, new Date()));
+        }
+
+        Map<String, List<Product>> result = parallelProductImporter.saveAll(products);
+
+        List<Product> expectedSaved = new ArrayList<>();
+        List<Product> expectedExisting = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            (i % 5 == 4 ? expectedExisting : expectedSaved).add(products.get(i));
+        }
+        assertEquals(expectedSaved, result.get("savedProducts"));
+        assertEquals(expectedExisting, result.get("existingProducts"));
+        verify(productService, atLeast(16)).saveChunk(anyList());
+    }
+
+    @Test
+    void testSaveAll_RetriesChunkAfterDeadlock() {
+        AtomicBoolean deadlocked = new AtomicBoolean();
+        when(productService.saveChunk(anyList())).thenAnswer(invocation -> {
+            if (deadlocked.compareAndSet(false, true)) {
+                throw new CannotAcquireLockException("deadlock");
+            }
+            List<Product> chunk = invocation.getArgument(0);
+            return new BulkSaveResult(new ArrayList<>(chunk), new ArrayList<>());
+        });
+        Product product = new Product(null, "Product1", "Category1", 10.0, true, 4.0, new Date());
+
+        Map<String, List<Product>> result = parallelProductImporter.saveAll(List.of(product));
+
+        assertEquals(List.of(product), result.get("savedProducts"));
+        verify(productService, times(2)).saveChunk(List.of(product));
+    }
+}
@@ -0,0 +1,64 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductBinaryCodecTest {
+
+    @Test
+    void testRoundTrip() throws Exception {
+        Random random = new Random(3);
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            products.add(new Product(random.nextInt(10) == 0 ? id * 1000 : id, "Product " + id + " ünïcode",
+                    "Category" + random.nextInt(30), random.nextInt(100_000) / 100.0, random.nextBoolean(),
+                    random.nextInt(50) / 10.0, new Date(1_700_000_000_000L - random.nextInt(1_000_000) * 1000L)));
+        }
+        // Nullable fields, as in an upload, and a name larger than the write buffer.
+        products.add(new Product(null, null, null, 1.5, true, 2.5, null));
+        products.add(new Product(7L, "x".repeat(200_000), "Category1", -0.0, false, Double.NaN, new Date(0)));
+
+        assertEquals(products, decode(encode(products)));
+        assertEquals(List.of(), decode(encode(List.of())));
+    }
+
+    @Test
+    void testSmallerThanJson() throws Exception {
+        List<Product> products = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            products.add(new Product(id, "Product" + id, "Category" + (id % 20), 10 + id % 500, id % 3 == 0,
+                    1 + id % 5, new Date(1_700_000_000_000L + id * 60_000)));
+        }
+
+        int json = new ObjectMapper().writeValueAsBytes(products).length;
+        int binary = encode(products).length;
+
+        assertTrue(binary * 3 < json, () -> binary + " bytes vs " + json + " bytes of JSON");
+    }
+
+    @Test
+    void testRejectsMalformedPayloads() throws Exception {
+        byte[] encoded = encode(List.of(new Product(1L, "Product1", "Category1", 10.0, true, 4.0, new Date())));
+
+        assertThrows(BadRequestException.class, () -> decode(Arrays.copyOf(encoded, encoded.length - 3)));
+        assertThrows(BadRequestException.class, () -> decode("[{\"name\":\"Product1\"}]".getBytes()));
+    }
+
+    private static byte[] encode(List<Product> products) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ProductBinaryCodec.write(products, out);
+        return out.toByteArray();
+    }
+
+    private static List<Product> decode(byte[] bytes) {
+        return ProductBinaryCodec.read(ByteBuffer.wrap(bytes));
+    }
+}
@@ -0,0 +1,66 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProductCatalogLoaderTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<ProductCatalogLoader.Listener> listeners = mock(ObjectProvider.class);
+
+    private final ProductCatalogLoader loader = new ProductCatalogLoader();
+
+    @Test
+    void testCatalogIsReadOnceForAllStructures() {
+        List<Product> catalog = new ArrayList<>();
+        for (long id = 1; id <= 250; id++) {
+            catalog.add(new Product(id, "Product" + id, "Category" + id % 5, 10 + id % 100, id % 2 == 0, id % 5,
+                    new Date(1_700_000_000_000L + id * 1000)));
+        }
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            return catalog.stream().filter(product -> product.getId() > after).limit(100).toList();
+        });
+        ProductColumnIndex columnIndex = new ProductColumnIndex();
+        ProductSearchIndex searchIndex = new ProductSearchIndex();
+        ProductLeaderboards leaderboards = new ProductLeaderboards(10);
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.of(columnIndex, searchIndex, leaderboards));
+        ReflectionTestUtils.setField(loader, "productRepository", productRepository);
+        ReflectionTestUtils.setField(loader, "listeners", listeners);
+        ReflectionTestUtils.setField(loader, "batchSize", 100);
+
+        loader.load();
+
+        // Three batches and the empty one that ends the scan, however many structures there are.
+        verify(productRepository, times(4)).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+        assertTrue(columnIndex.isReady() && searchIndex.isReady() && leaderboards.isReady());
+        assertEquals(250, columnIndex.size());
+        assertEquals(250, searchIndex.size());
+        // The structures hold the same instances rather than copies of their own.
+        Product best = leaderboards.top(null, false, 1).get(0);
+        assertSame(best, searchIndex.search(best.getName(), null, null, null, null, 1).get(0));
+    }
+
+    @Test
+    void testNothingIsReadWithoutStructures() {
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.empty());
+        ReflectionTestUtils.setField(loader, "productRepository", productRepository);
+        ReflectionTestUtils.setField(loader, "listeners", listeners);
+
+        loader.load();
+
+        verifyNoInteractions(productRepository);
+    }
+}
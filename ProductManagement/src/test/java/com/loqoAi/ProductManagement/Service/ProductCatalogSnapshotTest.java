@@ -0,0 +1,143 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProductCatalogSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+
+    // The products table, in id order.
+    private final List<Product> table = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (long id = 1; id <= 2500; id++) {
+            table.add(product(id));
+        }
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(1);
+            return table.stream().filter(p -> p.getId() > after).limit(limit.max()).toList();
+        });
+        when(productRepository.existsByIdGreaterThan(anyLong())).thenAnswer(invocation ->
+                table.stream().anyMatch(p -> p.getId() > (long) invocation.getArgument(0)));
+        when(productRepository.countByIdLessThanEqual(anyLong())).thenAnswer(invocation ->
+                table.stream().filter(p -> p.getId() <= (long) invocation.getArgument(0)).count());
+    }
+
+    @Test
+    void testLoadsWrittenSnapshot() throws Exception {
+        snapshot().write();
+
+        List<Product> loaded = new ArrayList<>();
+        ProductCatalogSnapshot restarted = snapshot();
+        assertEquals(2500L, restarted.forEachBatch(loaded::addAll));
+        assertEquals(table, loaded);
+        // Blocks were decoded from the file; the table was not read again.
+        verify(productRepository, times(4)).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void testWriteAppendsNewProducts() throws Exception {
+        ProductCatalogSnapshot snapshot = snapshot();
+        snapshot.write();
+        long size = Files.size(directory.resolve("products.snapshot"));
+
+        // Nothing added: the file is left alone.
+        snapshot.write();
+        assertEquals(size, Files.size(directory.resolve("products.snapshot")));
+
+        table.add(product(2501));
+        table.add(product(2600));
+        snapshot.write();
+        // Only the first write read the table from the start.
+        verify(productRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+
+        List<Product> loaded = new ArrayList<>();
+        assertEquals(2600L, snapshot().forEachBatch(loaded::addAll));
+        assertEquals(table, loaded);
+    }
+
+    @Test
+    void testRewritesWhenRowCommittedBelowHighestId() throws Exception {
+        table.remove(99);
+        ProductCatalogSnapshot snapshot = snapshot();
+        snapshot.write();
+
+        // Product 100 commits late, after 2500 was already in the snapshot.
+        table.add(99, product(100));
+        table.add(product(2501));
+        snapshot.write();
+
+        List<Product> loaded = new ArrayList<>();
+        assertEquals(2501L, snapshot().forEachBatch(loaded::addAll));
+        assertEquals(table, loaded);
+    }
+
+    @Test
+    void testIgnoresStaleOrCorruptSnapshot() throws Exception {
+        snapshot().write();
+        Path file = directory.resolve("products.snapshot");
+
+        table.add(99, product(100_000));
+        table.remove(0);
+        List<Product> loaded = new ArrayList<>();
+        assertEquals(0L, snapshot().forEachBatch(loaded::addAll));
+        assertTrue(loaded.isEmpty());
+
+        table.add(0, product(1));
+        table.remove(99);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 10] ^= 1;
+        Files.write(file, bytes);
+        assertEquals(0L, snapshot().forEachBatch(loaded::addAll));
+        assertTrue(loaded.isEmpty());
+
+        Files.delete(file);
+        assertEquals(0L, snapshot().forEachBatch(loaded::addAll));
+    }
+
+    @Test
+    void testLoaderCatchesUpFromDatabase() throws Exception {
+        snapshot().write();
+        table.add(product(2501));
+        table.add(product(2502));
+
+        ProductCatalogLoader loader = new ProductCatalogLoader();
+        ReflectionTestUtils.setField(loader, "productRepository", productRepository);
+        ReflectionTestUtils.setField(loader, "productCatalogSnapshot", snapshot());
+
+        List<Product> loaded = new ArrayList<>();
+        assertEquals(2502L, loader.forEachBatch(loaded::addAll));
+        assertEquals(table, loaded);
+        verify(productRepository, times(1)).findByIdGreaterThanOrderByIdAsc(eq(0L), any());
+    }
+
+    private ProductCatalogSnapshot snapshot() {
+        ProductCatalogSnapshot snapshot = new ProductCatalogSnapshot(directory.resolve("products.snapshot"), 1000);
+        ReflectionTestUtils.setField(snapshot, "productRepository", productRepository);
+        return snapshot;
+    }
+
+    private static Product product(long id) {
+        return new Product(id, "Product" + id, "Category" + id % 7, 10 + id % 100, id % 2 == 0, id % 5,
+                new Date(1_700_000_000_000L + id * 1000));
+    }
+}
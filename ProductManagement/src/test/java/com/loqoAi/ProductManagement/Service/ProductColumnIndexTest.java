@@ -0,0 +1,105 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductColumnIndexTest {
+
+    private final ProductColumnIndex productColumnIndex = new ProductColumnIndex();
+
+    private final List<Product> catalog = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        for (long id = 1; id <= 3000; id++) {
+            catalog.add(new Product(id, "Product" + id, "Category" + random.nextInt(12), random.nextInt(200) + 1,
+                    random.nextBoolean(), random.nextInt(5) + 1, new Date(1_700_000_000_000L + random.nextInt(100_000))));
+        }
+    }
+
+    @Test
+    void testQueriesMatchBruteForce() {
+        load();
+
+        assertMatchesBruteForce();
+    }
+
+    @Test
+    void testIncrementalWritesKeepQueriesCorrect() {
+        load();
+        for (long id = 3001; id <= 3100; id++) {
+            Product product = new Product(id, "Product" + id, "Category" + (id % 13), id % 150 + 1,
+                    id % 2 == 0, id % 5 + 1, new Date(1_700_000_000_000L + id * 7));
+            catalog.add(product);
+            productColumnIndex.onProductsChanged(new ProductsChangedEvent(List.of(product)));
+        }
+
+        assertEquals(3100, productColumnIndex.size());
+        assertMatchesBruteForce();
+    }
+
+    @Test
+    void testWritesDuringLoadAreAppliedOnce() {
+        Product loadedAndNotified = catalog.get(0);
+        Product onlyNotified = new Product(5000L, "Late", "Category1", 10.0, true, 4.0, new Date());
+        productColumnIndex.onProductsChanged(new ProductsChangedEvent(List.of(loadedAndNotified, onlyNotified)));
+        assertFalse(productColumnIndex.isReady());
+
+        load();
+
+        assertTrue(productColumnIndex.isReady());
+        assertEquals(3001, productColumnIndex.size());
+    }
+
+    @Test
+    void testUnknownCategoryIsEmpty() {
+        load();
+
+        assertTrue(productColumnIndex.query("Missing", null, null, null, "price", false).isEmpty());
+    }
+
+    private void load() {
+        productColumnIndex.loadBatch(new ArrayList<>(catalog));
+        productColumnIndex.loadComplete();
+    }
+
+    private void assertMatchesBruteForce() {
+        Random random = new Random(11);
+        for (int i = 0; i < 300; i++) {
+            String category = random.nextBoolean() ? "Category" + random.nextInt(13) : null;
+            Double minPrice = random.nextBoolean() ? (double) random.nextInt(100) : null;
+            Double maxPrice = random.nextBoolean() ? (double) random.nextInt(100) + 100 : null;
+            Boolean inStock = random.nextBoolean() ? random.nextBoolean() : null;
+            String sortField = List.of("price", "rating", "createdAt").get(random.nextInt(3));
+            boolean descending = random.nextBoolean();
+
+            List<Product> actual = productColumnIndex.query(category, minPrice, maxPrice, inStock, sortField, descending);
+
+            Comparator<Product> comparator = switch (sortField) {
+                case "price" -> Comparator.comparingDouble(Product::getPrice);
+                case "rating" -> Comparator.comparingDouble(Product::getRating);
+                default -> Comparator.comparing(Product::getCreatedAt);
+            };
+            List<Product> expected = catalog.stream()
+                    .filter(p -> category == null || p.getCategory().equals(category))
+                    .filter(p -> minPrice == null || p.getPrice() >= minPrice)
+                    .filter(p -> maxPrice == null || p.getPrice() <= maxPrice)
+                    .filter(p -> inStock == null || p.isInStock() == inStock)
+                    .collect(Collectors.toList());
+
+            assertEquals(expected.size(), actual.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+            Comparator<Product> order = descending ? comparator.reversed() : comparator;
+            for (int j = 1; j < actual.size(); j++) {
+                assertTrue(order.compare(actual.get(j - 1), actual.get(j)) <= 0);
+            }
+        }
+    }
+}
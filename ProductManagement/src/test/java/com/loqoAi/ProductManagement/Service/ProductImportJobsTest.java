@@ -0,0 +1,170 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.Exceptions.ResourceNotFoundException;
+import com.loqoAi.ProductManagement.Exceptions.ServiceUnavailableException;
+import com.loqoAi.ProductManagement.model.BulkChunkProgress;
+import com.loqoAi.ProductManagement.model.BulkImportSummary;
+import com.loqoAi.ProductManagement.model.ImportJobStatus;
+import com.loqoAi.ProductManagement.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProductImportJobsTest {
+
+    @Mock
+    private ProductStreamImporter productStreamImporter;
+
+    @TempDir
+    Path spoolDirectory;
+
+    private ProductImportJobs productImportJobs;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        // One worker, one job waiting, three jobs tracked.
+        productImportJobs = new ProductImportJobs(1, 1, 3, spoolDirectory, Duration.ofHours(1), Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(productImportJobs, "productStreamImporter", productStreamImporter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productImportJobs.shutdown();
+    }
+
+    @Test
+    void testSubmit_ReturnsBeforeImportAndReportsProgress() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        String upload = "{\"name\":\"Product1\"}\n{\"name\":\"Product2\"}\n";
+        when(productStreamImporter.openReader(any(InputStream.class), eq(ProductStreamImporter.NDJSON))).thenAnswer(invocation -> {
+            InputStream spooled = invocation.getArgument(0);
+            assertEquals(upload, new String(spooled.readAllBytes(), StandardCharsets.UTF_8));
+            return Collections.<Product>emptyIterator();
+        });
+        when(productStreamImporter.importProducts(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            Consumer<BulkChunkProgress> listener = invocation.getArgument(1);
+            listener.accept(new BulkChunkProgress(1, 2, 1, 1, 0, List.of(1L), List.of(), List.of()));
+            return new BulkImportSummary();
+        });
+
+        ImportJobStatus submitted = productImportJobs.submit(
+                new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8)), ProductStreamImporter.NDJSON);
+
+        assertNotEquals(ImportJobStatus.State.COMPLETED, submitted.getState());
+        assertEquals(upload.length(), submitted.getUploadedBytes());
+        release.countDown();
+
+        ImportJobStatus status = awaitFinished(submitted.getId());
+        assertEquals(ImportJobStatus.State.COMPLETED, status.getState());
+        assertEquals(2, status.getRowsRead());
+        assertEquals(1, status.getSaved());
+        assertEquals(1, status.getDuplicates());
+        assertNull(status.getError());
+        try (var files = Files.list(spoolDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testFailedImportIsReported() throws Exception {
+        when(productStreamImporter.openReader(any(InputStream.class), any())).thenReturn(Collections.emptyIterator());
+        when(productStreamImporter.importProducts(any(), any())).thenThrow(new IllegalStateException("database down"));
+
+        ImportJobStatus submitted = productImportJobs.submit(new ByteArrayInputStream(new byte[0]), ProductStreamImporter.CSV);
+
+        ImportJobStatus status = awaitFinished(submitted.getId());
+        assertEquals(ImportJobStatus.State.FAILED, status.getState());
+        assertEquals("database down", status.getError());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFullAndCancelsQueuedJobsOnShutdown() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(productStreamImporter.openReader(any(InputStream.class), any())).thenReturn(Collections.emptyIterator());
+        when(productStreamImporter.importProducts(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("interrupted");
+            }
+            return new BulkImportSummary();
+        });
+
+        ImportJobStatus running = productImportJobs.submit(new ByteArrayInputStream(new byte[1]), ProductStreamImporter.CSV);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        ImportJobStatus queued = productImportJobs.submit(new ByteArrayInputStream(new byte[1]), ProductStreamImporter.CSV);
+
+        ServiceUnavailableException thrown = assertThrows(ServiceUnavailableException.class,
+                () -> productImportJobs.submit(new ByteArrayInputStream(new byte[1]), ProductStreamImporter.CSV));
+        assertEquals(Duration.ofSeconds(30), thrown.getRetryAfter());
+        try (var files = Files.list(spoolDirectory)) {
+            assertEquals(2, files.count());
+        }
+
+        productImportJobs.shutdown();
+
+        assertEquals(ImportJobStatus.State.FAILED, awaitFinished(queued.getId()).getState());
+        assertEquals(ImportJobStatus.State.FAILED, awaitFinished(running.getId()).getState());
+        try (var files = Files.list(spoolDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testForgetsOldestFinishedJobBeyondMaxJobs() throws Exception {
+        when(productStreamImporter.openReader(any(InputStream.class), any())).thenReturn(Collections.emptyIterator());
+        when(productStreamImporter.importProducts(any(), any())).thenReturn(new BulkImportSummary());
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(productImportJobs.submit(new ByteArrayInputStream(new byte[0]), ProductStreamImporter.CSV).getId());
+            awaitFinished(ids.get(i));
+            Thread.sleep(2);
+        }
+
+        assertThrows(ResourceNotFoundException.class, () -> productImportJobs.getStatus(ids.get(0)));
+        for (String id : ids.subList(1, 4)) {
+            assertEquals(ImportJobStatus.State.COMPLETED, productImportJobs.getStatus(id).getState());
+        }
+    }
+
+    @Test
+    void testUnknownJob() {
+        assertThrows(ResourceNotFoundException.class, () -> productImportJobs.getStatus("missing"));
+    }
+
+    private ImportJobStatus awaitFinished(String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            ImportJobStatus status = productImportJobs.getStatus(id);
+            if (status.getFinishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Import job did not finish");
+        return null;
+    }
+}
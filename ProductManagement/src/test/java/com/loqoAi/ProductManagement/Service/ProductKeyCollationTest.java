@@ -0,0 +1,65 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductKey;
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * With IGNORECASE the embedded database compares names and categories like the default
+ * MySQL collation, so its unique key rejects case variants of an existing product.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties =
+        "spring.datasource.url=jdbc:h2:mem:collation;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1")
+@DirtiesContext
+class ProductKeyCollationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAllInBatch();
+        productRepository.insertAll(List.of(new Product(null, "phone", "electronics", 100.0, true, 4.5, new Date())));
+    }
+
+    @Test
+    void testUniqueKeyIgnoresCase() {
+        assertThrows(DataIntegrityViolationException.class, () -> productRepository.insertAll(
+                List.of(new Product(null, "PHONE", "Electronics", 100.0, true, 4.5, new Date()))));
+    }
+
+    @Test
+    void testFindExistingKeysMatchesCaseVariants() {
+        ProductKey variant = new ProductKey("Phone", "ELECTRONICS");
+        assertEquals(Set.of(variant), productRepository.findExistingKeys(Set.of(variant, new ProductKey("Phone", "Toys"))));
+    }
+
+    @Test
+    void testBulkUploadReportsCaseVariantsAsExisting() {
+        Product variant = new Product(null, "Phone", "ELECTRONICS", 90.0, true, 4.0, new Date());
+        Product fresh = new Product(null, "Tablet", "Electronics", 300.0, true, 4.0, new Date());
+        Product repeated = new Product(null, "TABLET", "electronics", 310.0, true, 4.0, new Date());
+
+        Map<String, List<Product>> result = productService.saveAll(List.of(variant, fresh, repeated));
+
+        assertEquals(List.of(fresh), result.get("savedProducts"));
+        assertEquals(List.of(variant, repeated), result.get("existingProducts"));
+        assertEquals(2, productRepository.count());
+    }
+}
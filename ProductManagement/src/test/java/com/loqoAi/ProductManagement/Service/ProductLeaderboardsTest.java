@@ -0,0 +1,74 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductLeaderboardsTest {
+
+    private ProductLeaderboards productLeaderboards;
+
+    private final List<Product> catalog = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        productLeaderboards = new ProductLeaderboards(50);
+
+        Random random = new Random(5);
+        for (long id = 1; id <= 3000; id++) {
+            catalog.add(new Product(id, "Product" + id, "Category" + random.nextInt(8), 10.0, true,
+                    random.nextInt(50) / 10.0, new Date(1_700_000_000_000L + random.nextInt(100_000) * 1000L)));
+        }
+    }
+
+    private void load() {
+        for (int from = 0; from < catalog.size(); from += 500) {
+            productLeaderboards.loadBatch(catalog.subList(from, from + 500));
+        }
+        productLeaderboards.loadComplete();
+    }
+
+    @Test
+    void testTopMatchesSortedCatalog() {
+        assertFalse(productLeaderboards.isReady());
+        load();
+        assertTrue(productLeaderboards.isReady());
+
+        for (String category : Arrays.asList(null, "Category3")) {
+            assertEquals(bruteForce(category, ProductLeaderboards.BEST_RATED, 20), productLeaderboards.top(category, false, 20));
+            assertEquals(bruteForce(category, ProductLeaderboards.NEWEST, 50), productLeaderboards.top(category, true, 50));
+        }
+        assertTrue(productLeaderboards.top("Unknown", false, 20).isEmpty());
+    }
+
+    @Test
+    void testAddedProductsEnterLeaderboards() {
+        load();
+
+        Product best = new Product(3001L, "Best", "Category3", 10.0, true, 5.0, new Date(1_600_000_000_000L));
+        Product newest = new Product(3002L, "Newest", "Category3", 10.0, true, 0.1, new Date(1_800_000_000_000L));
+        Product unranked = new Product(3003L, "Unranked", "Category3", 10.0, true, 0.1, new Date(1_600_000_000_000L));
+        productLeaderboards.onProductsChanged(new ProductsChangedEvent(List.of(best, newest, unranked)));
+        // Offering a product again has no effect.
+        productLeaderboards.onProductsChanged(new ProductsChangedEvent(List.of(best)));
+        catalog.addAll(List.of(best, newest, unranked));
+
+        assertEquals(best, productLeaderboards.top("Category3", false, 1).get(0));
+        assertEquals(newest, productLeaderboards.top(null, true, 1).get(0));
+        assertFalse(productLeaderboards.top("Category3", false, 50).contains(unranked));
+        assertEquals(bruteForce("Category3", ProductLeaderboards.BEST_RATED, 50), productLeaderboards.top("Category3", false, 50));
+        assertEquals(bruteForce(null, ProductLeaderboards.NEWEST, 50), productLeaderboards.top(null, true, 50));
+    }
+
+    private List<Product> bruteForce(String category, Comparator<Product> ranking, int limit) {
+        return catalog.stream()
+                .filter(product -> category == null || category.equals(product.getCategory()))
+                .sorted(ranking)
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductQueryCacheTest {
+
+    private final ProductQueryCache cache = new ProductQueryCache(100, Duration.ofMinutes(1));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testRepeatQueryIsServedFromCache() {
+        ProductQuery query = ProductQuery.filters("Category1", 10.0, null, true, "price", Sort.Direction.ASC);
+
+        List<Product> first = cache.get(query, this::load);
+        List<Product> second = cache.get(ProductQuery.filters("Category1", 10.0, null, true, "price", Sort.Direction.ASC), this::load);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testWriteInvalidatesOnlyDependentQueries() {
+        ProductQuery category1 = ProductQuery.category("Category1");
+        ProductQuery category2 = ProductQuery.category("Category2");
+        ProductQuery allCategories = ProductQuery.inStock(true);
+        cache.get(category1, this::load);
+        cache.get(category2, this::load);
+        cache.get(allCategories, this::load);
+
+        cache.onProductsChanged(new ProductsChangedEvent(List.of(
+                new Product(1L, "Product1", "Category1", 10.0, true, 4.0, new Date()))));
+
+        cache.get(category1, this::load);
+        cache.get(category2, this::load);
+        cache.get(allCategories, this::load);
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void testLoadRacingWithWriteIsNotCached() {
+        ProductQuery query = ProductQuery.category("Category1");
+
+        cache.get(query, () -> {
+            cache.invalidateCategories(Set.of("Category1"));
+            return load();
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    private List<Product> load() {
+        loads.incrementAndGet();
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,125 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductSearchIndexTest {
+
+    private static final String[] WORDS = {"red", "green", "blue", "wireless", "wired", "mouse", "keyboard",
+            "keypad", "monitor", "cable", "usb-c", "laptop", "stand"};
+
+    private final ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+
+    private final List<Product> catalog = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(11);
+        for (long id = 1; id <= 2000; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+            catalog.add(new Product(id, name, "Category" + random.nextInt(5), random.nextInt(200) + 1,
+                    random.nextBoolean(), random.nextInt(50) / 10.0, new Date()));
+        }
+    }
+
+    private void load() {
+        productSearchIndex.loadBatch(new ArrayList<>(catalog));
+        productSearchIndex.loadComplete();
+    }
+
+    @Test
+    void testSearchMatchesBruteForce() {
+        load();
+
+        for (String query : List.of("wire", "wireless", "red key", "Blue Mouse", "usb c", "category3 mon", "stand 1")) {
+            for (String category : Arrays.asList(null, "Category1")) {
+                for (Boolean inStock : Arrays.asList(null, true)) {
+                    assertEquals(bruteForce(query, category, 20.0, 150.0, inStock, 15),
+                            productSearchIndex.search(query, category, 20.0, 150.0, inStock, 15), query);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testWritesDuringLoadAreIndexedOnce() {
+        Product duringLoad = new Product(2001L, "Wireless Charger", "Category9", 30.0, true, 5.0, new Date());
+        Product alreadyLoaded = catalog.get(0);
+        productSearchIndex.onProductsChanged(new ProductsChangedEvent(List.of(duringLoad, alreadyLoaded)));
+        assertFalse(productSearchIndex.isReady());
+
+        load();
+
+        assertEquals(2001, productSearchIndex.size());
+        assertEquals(List.of(duringLoad), productSearchIndex.search("charg", null, null, null, null, 5));
+    }
+
+    @Test
+    void testChunksCommittedOutOfOrderMatchBruteForce() {
+        // Chunks of a parallel upload: ids interleave between chunks, which commit in any order.
+        List<Product> all = new ArrayList<>(catalog);
+        catalog.clear();
+        load();
+        for (int chunk : new int[]{3, 0, 2, 1}) {
+            List<Product> products = new ArrayList<>();
+            for (int i = chunk; i < all.size(); i += 4) {
+                products.add(all.get(i));
+            }
+            productSearchIndex.onProductsChanged(new ProductsChangedEvent(products));
+        }
+        catalog.addAll(all);
+
+        for (String query : List.of("wire", "red key", "category3 mon", "stand 1")) {
+            assertEquals(bruteForce(query, null, 0.0, 1000.0, null, 50),
+                    productSearchIndex.search(query, null, 0.0, 1000.0, null, 50), query);
+        }
+    }
+
+    @Test
+    void testPostingListRoundTripsOutOfOrderIds() {
+        ProductSearchIndex.PostingList postings = new ProductSearchIndex.PostingList();
+        for (long id : new long[]{3, 10, 1_000_000_000_000L, 7, 10, 1}) {
+            postings.add(id);
+        }
+        postings.mergePending();
+
+        assertArrayEquals(new long[]{1, 3, 7, 10, 1_000_000_000_000L}, postings.decode());
+        assertEquals(5, postings.count());
+    }
+
+    @Test
+    void testPostingListStoresSmallGapsInOneByte() {
+        ProductSearchIndex.PostingList postings = new ProductSearchIndex.PostingList();
+        for (long id = 1; id <= 1000; id++) {
+            postings.add(id);
+        }
+
+        assertEquals(1000, postings.byteSize());
+    }
+
+    private List<Product> bruteForce(String query, String category, Double minPrice, Double maxPrice, Boolean inStock, int limit) {
+        List<String> terms = ProductSearchIndex.tokenize(query);
+        List<Product> matches = new ArrayList<>();
+        for (Product product : catalog) {
+            List<String> words = ProductSearchIndex.tokenize(product.getName() + " " + product.getCategory());
+            boolean all = true;
+            for (int i = 0; i < terms.size(); i++) {
+                String term = terms.get(i);
+                boolean prefix = i == terms.size() - 1;
+                all &= words.stream().anyMatch(word -> prefix ? word.startsWith(term) : word.equals(term));
+            }
+            if (all && (category == null || category.equals(product.getCategory()))
+                    && product.getPrice() >= minPrice && product.getPrice() <= maxPrice
+                    && (inStock == null || product.isInStock() == inStock)) {
+                matches.add(product);
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Product::getRating).reversed().thenComparing(Product::getId));
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.model.Product;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Listings served from {@link ProductQueryCache} must not touch the connection pool:
+ * only the database fallback of a cache miss opens a transaction.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ProductServiceConnectionTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testCacheHitsDoNotBorrowConnection() {
+        productService.addProduct(new Product(null, "PooledProduct", "Pooled", 10.0, true, 4.0, new Date()));
+        // Misses: each loads from the database.
+        productService.getProductsByCategory("Pooled");
+        productService.getProductsByInStock(true);
+        productService.getProducts("Pooled", null, null, null, "price", "asc");
+        long acquired = acquiredConnections();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, productService.getProductsByCategory("Pooled").size());
+            assertFalse(productService.getProductsByInStock(true).isEmpty());
+            assertEquals(1, productService.getProducts("Pooled", null, null, null, "price", "asc").size());
+        }
+        assertEquals(acquired, acquiredConnections());
+
+        productService.getProductsByPriceRange(0, 100);
+        assertTrue(acquiredConnections() > acquired);
+    }
+
+    private long acquiredConnections() {
+        return meterRegistry.get("hikaricp.connections.acquire").timer().count();
+    }
+}
@@ -1,16 +1,33 @@
 package com.loqoAi.ProductManagement.Service;
 
 import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.Exceptions.BulkValidationException;
+import com.loqoAi.ProductManagement.Exceptions.ServiceUnavailableException;
+import com.loqoAi.ProductManagement.model.BulkSaveResult;
 import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductCursor;
+import com.loqoAi.ProductManagement.model.ProductFacets;
+import com.loqoAi.ProductManagement.model.ProductKey;
+import com.loqoAi.ProductManagement.model.ProductPage;
 import com.loqoAi.ProductManagement.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -21,6 +38,26 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Spy
+    private ProductQueryCache productQueryCache = new ProductQueryCache(100, Duration.ofMinutes(1));
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductColumnIndex productColumnIndex;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductLeaderboards productLeaderboards;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ProductMetrics productMetrics = new ProductMetrics(meterRegistry);
+
     @InjectMocks
     private ProductService productService;
 
@@ -61,7 +98,7 @@ class ProductServiceTest {
     void testGetProducts() {
         Product product = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, new Date());
         List<Product> products = Collections.singletonList(product);
-        when(productRepository.findByFilters(anyString(), anyDouble(), anyDouble(), anyBoolean(), any(Sort.class)))
+        when(productRepository.findAll(any(Specification.class), any(Sort.class)))
                 .thenReturn(products);
 
         List<Product> result = productService.getProducts("Category1", 50.0, 150.0, true, "price", "asc");
@@ -69,6 +106,7 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Product1", result.get(0).getName());
+        assertEquals(1, meterRegistry.get("products.query").tag("filters", "category+price+inStock").timer().count());
     }
 
     @Test
@@ -97,4 +135,252 @@ class ProductServiceTest {
         assertTrue(result.get("savedProducts").contains(product));
         assertTrue(result.get("existingProducts").isEmpty());
     }
+
+    @Test
+    void testSaveAll_ExistingAndRepeatedProducts() {
+        Product existing = new Product(null, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        Product fresh = new Product(null, "Product2", "Category1", 100.0, true, 4.5, new Date());
+        Product repeated = new Product(null, "Product2", "Category1", 120.0, true, 4.0, new Date());
+        when(productRepository.findExistingKeys(anyCollection()))
+                .thenReturn(Set.of(new ProductKey("Product1", "Category1")));
+
+        Map<String, List<Product>> result = productService.saveAll(List.of(existing, fresh, repeated));
+
+        assertEquals(List.of(fresh), result.get("savedProducts"));
+        assertEquals(List.of(existing, repeated), result.get("existingProducts"));
+        verify(productRepository, times(1)).insertAll(List.of(fresh));
+        verify(productRepository, never()).findByNameAndCategory(anyString(), anyString());
+        assertEquals(1.0, meterRegistry.get("products.bulk.rows").tag("outcome", "saved").counter().count());
+        assertEquals(2.0, meterRegistry.get("products.bulk.rows").tag("outcome", "duplicate").counter().count());
+    }
+
+    @Test
+    void testSaveAll_RejectsInvalidProductsBeforeDatabaseWork() {
+        Product valid = new Product(null, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        Product invalid = new Product(null, "Product2", "Category1", -5.0, true, 4.5, new Date());
+
+        BulkValidationException thrown = assertThrows(BulkValidationException.class,
+                () -> productService.saveAll(List.of(valid, invalid)));
+
+        assertEquals(List.of("row 2: Price must be positive"), thrown.getRejections());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void testGetProductPage_ReturnsCursorWhenMoreRowsExist() {
+        Product first = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        Product second = new Product(2L, "Product2", "Category1", 120.0, true, 4.0, new Date());
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(List.of(first, second));
+
+        ProductPage page = productService.getProductPage("Category1", null, null, null, "price", "desc", 1, null);
+
+        assertEquals(List.of(first), page.getItems());
+        ProductCursor cursor = ProductCursor.decode(page.getNextCursor());
+        assertEquals("price", cursor.sortField());
+        assertTrue(cursor.descending());
+        assertEquals(100.0, cursor.value());
+        assertEquals(1L, cursor.id());
+    }
+
+    @Test
+    void testGetProductPage_LastPageHasNoCursor() {
+        Product product = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(List.of(product));
+
+        ProductPage page = productService.getProductPage(null, null, null, null, null, null, 10, null);
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetProductPage_InvalidRequests() {
+        String priceCursor = new ProductCursor("price", false, 10.0, 1L).encode();
+
+        assertThrows(BadRequestException.class,
+                () -> productService.getProductPage(null, null, null, null, "inStock", "asc", 10, null));
+        assertThrows(BadRequestException.class,
+                () -> productService.getProductPage(null, null, null, null, "price", "asc", 0, null));
+        assertThrows(BadRequestException.class,
+                () -> productService.getProductPage(null, null, null, null, "rating", "asc", 10, priceCursor));
+        assertThrows(BadRequestException.class,
+                () -> productService.getProductPage(null, null, null, null, "price", "asc", 10, "not-a-cursor"));
+    }
+
+    @Test
+    void testAddProduct_ConcurrentDuplicate() {
+        Product product = new Product(null, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(productRepository.findByNameAndCategory(anyString(), anyString())).thenReturn(Optional.empty());
+        when(productRepository.save(any(Product.class))).thenThrow(new DataIntegrityViolationException("uk_products_name_category"));
+
+        BadRequestException thrown = assertThrows(BadRequestException.class, () -> productService.addProduct(product));
+
+        assertEquals("Product with name Product1 in category Category1 already exists.", thrown.getMessage());
+    }
+
+    @Test
+    void testSaveAll_RetriesChunkAfterConcurrentInsert() {
+        Product product = new Product(null, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(productRepository.findExistingKeys(anyCollection()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of(new ProductKey("Product1", "Category1")));
+        doThrow(new DuplicateKeyException("uk_products_name_category"))
+                .doNothing()
+                .when(productRepository).insertAll(anyList());
+
+        Map<String, List<Product>> result = productService.saveAll(List.of(product));
+
+        assertTrue(result.get("savedProducts").isEmpty());
+        assertEquals(List.of(product), result.get("existingProducts"));
+        verify(productRepository, times(2)).findExistingKeys(anyCollection());
+    }
+
+    @Test
+    void testSaveChunk_CaseVariantsAreRepeats() {
+        Product phone = new Product(null, "Phone", "ELECTRONICS", 100.0, true, 4.5, new Date());
+        Product variant = new Product(null, "phone", "electronics", 90.0, true, 4.0, new Date());
+        when(productRepository.findExistingKeys(anyCollection())).thenReturn(Set.of());
+
+        BulkSaveResult result = productService.saveChunk(List.of(phone, variant));
+
+        assertEquals(List.of(phone), result.getSavedProducts());
+        assertEquals(List.of(variant), result.getExistingProducts());
+    }
+
+    @Test
+    void testSaveChunk_InsertsOneByOneWhenConflictPersists() {
+        Product first = new Product(null, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        Product conflicting = new Product(null, "Product2", "Category1", 100.0, true, 4.5, new Date());
+        Product last = new Product(null, "Product3", "Category1", 100.0, true, 4.5, new Date());
+        // The duplicate check never sees the row the unique key takes Product2 for.
+        when(productRepository.findExistingKeys(anyCollection())).thenReturn(Set.of());
+        doAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            if (products.contains(conflicting)) {
+                throw new DuplicateKeyException("uk_products_name_category");
+            }
+            return null;
+        }).when(productRepository).insertAll(anyList());
+
+        BulkSaveResult result = productService.saveChunk(List.of(first, conflicting, last));
+
+        assertEquals(List.of(first, last), result.getSavedProducts());
+        assertEquals(List.of(conflicting), result.getExistingProducts());
+        verify(productRepository, times(3)).insertAll(List.of(first, conflicting, last));
+        verify(productRepository).insertAll(List.of(first));
+        verify(productRepository).insertAll(List.of(last));
+        verify(eventPublisher).publishEvent(new ProductsChangedEvent(List.of(first, last)));
+    }
+
+    @Test
+    void testGetProductsByCategory_ServedFromCacheUntilCategoryChanges() {
+        Product product = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(productRepository.findByCategory("Category1")).thenReturn(List.of(product));
+        doAnswer(invocation -> {
+            productQueryCache.onProductsChanged(invocation.getArgument(0));
+            return null;
+        }).when(eventPublisher).publishEvent(any(ProductsChangedEvent.class));
+
+        productService.getProductsByCategory("Category1");
+        productService.getProductsByCategory("Category1");
+        verify(productRepository, times(1)).findByCategory("Category1");
+
+        productService.saveAll(List.of(new Product(null, "Product2", "Category1", 10.0, true, 4.0, new Date())));
+
+        productService.getProductsByCategory("Category1");
+        verify(productRepository, times(2)).findByCategory("Category1");
+    }
+
+    @Test
+    void testGetProducts_ServedFromColumnIndexWhenReady() {
+        Product product = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(productColumnIndex.isReady()).thenReturn(true);
+        when(productColumnIndex.supports("rating")).thenReturn(true);
+        when(productColumnIndex.query("Category1", null, null, true, "rating", true)).thenReturn(List.of(product));
+
+        List<Product> result = productService.getProducts("Category1", null, null, true, "rating", "desc");
+
+        assertEquals(List.of(product), result);
+        verify(productRepository, never()).findAll(any(Specification.class), any(Sort.class));
+    }
+
+    @Test
+    void testGetFacets_CachedPerFilterSet() {
+        ProductFacets facets = new ProductFacets(0, 0, 0.0, new ProductFacets.Stats(null, null, null),
+                new ProductFacets.Stats(null, null, null), List.of(), List.of());
+        when(productRepository.findFacets(any(Specification.class), eq(10))).thenReturn(facets);
+
+        assertSame(facets, productService.getFacets("Category1", null, null, null, null));
+        assertSame(facets, productService.getFacets("Category1", null, null, null, 10));
+        verify(productRepository, times(1)).findFacets(any(Specification.class), eq(10));
+
+        assertThrows(BadRequestException.class, () -> productService.getFacets(null, null, null, null, 0));
+    }
+
+    @Test
+    void testSearchProducts_ServedFromSearchIndexWhenReady() {
+        Product product = new Product(1L, "Wireless Mouse", "Category1", 100.0, true, 4.5, new Date());
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productSearchIndex.search("wire", null, null, null, true, 20)).thenReturn(List.of(product));
+
+        assertEquals(List.of(product), productService.searchProducts("wire", null, null, null, true, null));
+        verify(productRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void testSearchProducts_FallsBackToDatabaseWhileIndexLoads() {
+        Product product = new Product(1L, "Wireless Mouse", "Category1", 100.0, true, 4.5, new Date());
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(List.of(product));
+
+        assertEquals(List.of(product), productService.searchProducts("wire", null, null, null, null, 500));
+        verify(productSearchIndex, never()).search(any(), any(), any(), any(), any(), anyInt());
+        assertThrows(BadRequestException.class, () -> productService.searchProducts(" - ", null, null, null, null, null));
+    }
+
+    @Test
+    void testGetTopProducts_ServedFromLeaderboardsWhenReady() {
+        Product product = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(productLeaderboards.isReady()).thenReturn(true);
+        when(productLeaderboards.top("Category1", true, 100)).thenReturn(List.of(product));
+
+        assertEquals(List.of(product), productService.getTopProducts("Category1", "createdAt", 500));
+        verify(productRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void testGetTopProducts_FallsBackToDatabaseWhileLeaderboardsLoad() {
+        Product product = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(List.of(product));
+
+        assertEquals(List.of(product), productService.getTopProducts(null, null, null));
+        verify(productLeaderboards, never()).top(any(), anyBoolean(), anyInt());
+        assertThrows(BadRequestException.class, () -> productService.getTopProducts(null, "price", null));
+        assertThrows(BadRequestException.class, () -> productService.getTopProducts(null, "rating", 0));
+    }
+
+    @Test
+    void testAddProduct_GroupCommitRethrowsDuplicateError() {
+        ProductWriteCoalescer coalescer = mock(ProductWriteCoalescer.class);
+        ReflectionTestUtils.setField(productService, "productWriteCoalescer", coalescer);
+        Product product = new Product(null, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(coalescer.submit(product)).thenReturn(CompletableFuture.failedFuture(new BadRequestException("already exists")));
+
+        BadRequestException thrown = assertThrows(BadRequestException.class, () -> productService.addProduct(product));
+
+        assertEquals("already exists", thrown.getMessage());
+        verify(productRepository, never()).findByNameAndCategory(anyString(), anyString());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void testAddProduct_GroupCommitTimeoutIsServiceUnavailable() {
+        ProductWriteCoalescer coalescer = mock(ProductWriteCoalescer.class);
+        ReflectionTestUtils.setField(productService, "productWriteCoalescer", coalescer);
+        Product product = new Product(null, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(coalescer.submit(product)).thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        ServiceUnavailableException thrown = assertThrows(ServiceUnavailableException.class, () -> productService.addProduct(product));
+
+        assertEquals(Duration.ofSeconds(1), thrown.getRetryAfter());
+    }
 }
@@ -0,0 +1,109 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.model.BulkChunkProgress;
+import com.loqoAi.ProductManagement.model.BulkImportSummary;
+import com.loqoAi.ProductManagement.model.BulkSaveResult;
+import com.loqoAi.ProductManagement.model.Product;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProductStreamImporterTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private ProductStreamImporter productStreamImporter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productService.saveChunk(anyList())).thenAnswer(invocation -> {
+            List<Product> chunk = invocation.getArgument(0);
+            List<Product> saved = new ArrayList<>();
+            for (Product product : chunk) {
+                product.setId((long) product.getName().hashCode());
+                saved.add(product);
+            }
+            return new BulkSaveResult(saved, new ArrayList<>());
+        });
+    }
+
+    @Test
+    void testImportNdjson() throws Exception {
+        String body = "{\"name\":\"Product1\",\"category\":\"Category1\",\"price\":10.0,\"inStock\":true,\"rating\":4.0}\n"
+                + "{\"name\":\"Product2\",\"category\":\"Category1\",\"price\":-1.0,\"inStock\":true,\"rating\":4.0}\n";
+        List<BulkChunkProgress> progress = new ArrayList<>();
+
+        BulkImportSummary summary = productStreamImporter.importProducts(
+                productStreamImporter.openReader(stream(body), ProductStreamImporter.NDJSON), progress::add);
+
+        assertEquals(2, summary.getRowsRead());
+        assertEquals(1, summary.getSaved());
+        assertEquals(1, summary.getRejected());
+        assertNull(summary.getError());
+        assertEquals(1, progress.size());
+        assertEquals(List.of("row 2: Price must be positive"), progress.get(0).getRejections());
+    }
+
+    @Test
+    void testImportCsvInChunks() throws Exception {
+        StringBuilder body = new StringBuilder("name,category,price,inStock,rating\n");
+        for (int i = 0; i < 2500; i++) {
+            body.append("Product").append(i).append(",Category1,10.0,true,4.0\n");
+        }
+        List<BulkChunkProgress> progress = new ArrayList<>();
+
+        BulkImportSummary summary = productStreamImporter.importProducts(
+                productStreamImporter.openReader(stream(body.toString()), ProductStreamImporter.CSV), progress::add);
+
+        assertEquals(2500, summary.getSaved());
+        assertEquals(3, summary.getChunks());
+        assertEquals(List.of(1000, 1000, 500), progress.stream().map(BulkChunkProgress::getSaved).toList());
+        verify(productService, times(3)).saveChunk(anyList());
+    }
+
+    @Test
+    void testMalformedInputStopsImport() throws Exception {
+        String body = "{\"name\":\"Product1\",\"category\":\"Category1\",\"price\":10.0,\"inStock\":true,\"rating\":4.0}\n{not json\n";
+
+        BulkImportSummary summary = productStreamImporter.importProducts(
+                productStreamImporter.openReader(stream(body), ProductStreamImporter.NDJSON), progress -> { });
+
+        assertEquals(1, summary.getSaved());
+        assertNotNull(summary.getError());
+    }
+
+    @Test
+    void testUnsupportedContentType() {
+        assertThrows(BadRequestException.class,
+                () -> productStreamImporter.openReader(stream(""), "application/xml"));
+    }
+
+    private InputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
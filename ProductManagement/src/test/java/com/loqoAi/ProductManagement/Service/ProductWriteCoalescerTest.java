@@ -0,0 +1,136 @@
+package com.loqoAi.ProductManagement.Service;
+
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.model.BulkSaveResult;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductKey;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProductWriteCoalescerTest {
+
+    @Mock
+    private ProductService productService;
+
+    private ProductWriteCoalescer productWriteCoalescer;
+
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productWriteCoalescer = new ProductWriteCoalescer(50, Duration.ofMillis(200), 1000, Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(productWriteCoalescer, "productService", productService);
+        when(productService.saveChunk(anyList())).thenAnswer(invocation -> {
+            List<Product> chunk = invocation.getArgument(0);
+            batchSizes.add(chunk.size());
+            Set<ProductKey> keys = new HashSet<>();
+            List<Product> saved = new ArrayList<>();
+            List<Product> existing = new ArrayList<>();
+            for (Product product : chunk) {
+                (keys.add(ProductKey.of(product)) ? saved : existing).add(product);
+            }
+            return new BulkSaveResult(saved, existing);
+        });
+        productWriteCoalescer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        productWriteCoalescer.stop();
+    }
+
+    @Test
+    void testConcurrentSubmissionsShareOneCommit() {
+        List<CompletableFuture<Product>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(productWriteCoalescer.submit(new Product(null, "Product" + i, "Category1", 10.0, true, 4.0, new Date())));
+        }
+        Product repeated = new Product(null, "Product3", "Category1", 12.0, true, 4.0, new Date());
+        CompletableFuture<Product> duplicate = productWriteCoalescer.submit(repeated);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals("Product" + i, futures.get(i).join().getName());
+        }
+        CompletionException thrown = assertThrows(CompletionException.class, duplicate::join);
+        assertInstanceOf(BadRequestException.class, thrown.getCause());
+        assertEquals(List.of(21), batchSizes);
+    }
+
+    @Test
+    void testBatchesAreBoundedBySize() {
+        List<CompletableFuture<Product>> futures = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            futures.add(productWriteCoalescer.submit(new Product(null, "Product" + i, "Category1", 10.0, true, 4.0, new Date())));
+        }
+
+        futures.forEach(CompletableFuture::join);
+        assertEquals(120, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 50));
+    }
+
+    @Test
+    void testDatabaseFailureFailsEveryCallerOfTheBatch() {
+        when(productService.saveChunk(anyList())).thenThrow(new IllegalStateException("database down"));
+
+        CompletableFuture<Product> first = productWriteCoalescer.submit(new Product(null, "Product1", "Category1", 10.0, true, 4.0, new Date()));
+        CompletableFuture<Product> second = productWriteCoalescer.submit(new Product(null, "Product2", "Category1", 10.0, true, 4.0, new Date()));
+
+        assertEquals("database down", assertThrows(CompletionException.class, first::join).getCause().getMessage());
+        assertEquals("database down", assertThrows(CompletionException.class, second::join).getCause().getMessage());
+    }
+
+    @Test
+    void testErrorFailsOnlyItsBatch() {
+        AtomicBoolean failed = new AtomicBoolean();
+        when(productService.saveChunk(anyList())).thenAnswer(invocation -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new LinkageError("broken");
+            }
+            return new BulkSaveResult(new ArrayList<>(invocation.getArgument(0)), new ArrayList<>());
+        });
+
+        CompletableFuture<Product> first = productWriteCoalescer.submit(new Product(null, "Product1", "Category1", 10.0, true, 4.0, new Date()));
+        assertInstanceOf(LinkageError.class, assertThrows(CompletionException.class, first::join).getCause());
+
+        // The flusher survived and writes the next batch.
+        CompletableFuture<Product> second = productWriteCoalescer.submit(new Product(null, "Product2", "Category1", 10.0, true, 4.0, new Date()));
+        assertEquals("Product2", second.join().getName());
+    }
+
+    @Test
+    void testSubmissionTimesOutWhileDatabaseHangs() throws InterruptedException {
+        ProductWriteCoalescer coalescer = new ProductWriteCoalescer(50, Duration.ofMillis(1), 1000, Duration.ofMillis(100));
+        ReflectionTestUtils.setField(coalescer, "productService", productService);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productService.saveChunk(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return new BulkSaveResult(new ArrayList<>(invocation.getArgument(0)), new ArrayList<>());
+        });
+        coalescer.start();
+        try {
+            CompletableFuture<Product> future = coalescer.submit(new Product(null, "Product1", "Category1", 10.0, true, 4.0, new Date()));
+            assertInstanceOf(TimeoutException.class, assertThrows(CompletionException.class, future::join).getCause());
+        } finally {
+            release.countDown();
+            coalescer.stop();
+        }
+    }
+}
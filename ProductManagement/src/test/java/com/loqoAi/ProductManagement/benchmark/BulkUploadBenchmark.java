@@ -0,0 +1,69 @@
+package com.loqoAi.ProductManagement.benchmark;
+
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.Service.ProductService;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the old per-row bulk upload (one addProduct per product) with the
+ * chunked saveAll path. Not part of the regular test run; start it with
+ * {@code ./mvnw test -Dtest=BulkUploadBenchmark -Dbenchmark.rows=50000}.
+ */
+@SpringBootTest
+class BulkUploadBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20000);
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compareBulkUploadThroughput() {
+        List<Product> perRowProducts = generate("per-row");
+        long start = System.nanoTime();
+        for (Product product : perRowProducts) {
+            try {
+                productService.addProduct(product);
+            } catch (BadRequestException e) {
+                // duplicates are counted the same way saveAll reports them
+            }
+        }
+        double perRowSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<Product> chunkedProducts = generate("chunked");
+        start = System.nanoTime();
+        Map<String, List<Product>> result = productService.saveAll(chunkedProducts);
+        double chunkedSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertEquals(ROWS, result.get("savedProducts").size());
+        System.out.printf("bulk upload of %d rows: per-row %.0f rows/s, chunked %.0f rows/s (%.1fx)%n",
+                ROWS, ROWS / perRowSeconds, ROWS / chunkedSeconds, perRowSeconds / chunkedSeconds);
+    }
+
+    private List<Product> generate(String prefix) {
+        List<Product> products = new ArrayList<>(ROWS);
+        Random random = new Random(42);
+        for (int i = 0; i < ROWS; i++) {
+            products.add(new Product(null, prefix + "-product-" + i, "Category" + (i % 50),
+                    1 + random.nextInt(1000), random.nextBoolean(), 1 + random.nextInt(5), new Date()));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,86 @@
+package com.loqoAi.ProductManagement.benchmark;
+
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.ProductManagementApplication;
+import com.loqoAi.ProductManagement.Service.ProductService;
+import com.loqoAi.ProductManagement.model.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single-product inserts from many concurrent callers, with and without the
+ * group-commit coalescer ({@code products.coalesce.enabled}). Reports throughput,
+ * latency and the number of committed transactions. Not part of the regular test
+ * run; start it with {@code ./mvnw test -Dtest=GroupCommitBenchmark -Dbenchmark.rows=20000}.
+ */
+class GroupCommitBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 20000);
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 64);
+
+    @Test
+    void compareCommitCounts() throws Exception {
+        run(false);
+        run(true);
+    }
+
+    private void run(boolean coalesce) throws Exception {
+        SpringApplication application = new SpringApplication(ProductManagementApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setLogStartupInfo(false);
+        try (ConfigurableApplicationContext context = application.run(
+                "--spring.datasource.url=jdbc:h2:mem:group-commit-" + coalesce + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--spring.datasource.hikari.maximum-pool-size=" + (CLIENTS + 2),
+                "--products.coalesce.enabled=" + coalesce,
+                "--logging.level.root=WARN")) {
+            ProductService productService = context.getBean(ProductService.class);
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+            long[] latencies = new long[ROWS];
+            // In-memory H2 occasionally reports a key violation for concurrent single-row
+            // inserts; those are counted rather than failing the run.
+            AtomicInteger rejected = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>(ROWS);
+            long start = System.nanoTime();
+            for (int i = 0; i < ROWS; i++) {
+                int row = i;
+                futures.add(clients.submit(() -> {
+                    long begin = System.nanoTime();
+                    try {
+                        productService.addProduct(new Product(null, "product-" + row, "Category" + (row % 50),
+                                1 + row % 1000, row % 2 == 0, 1 + row % 5, new Date()));
+                    } catch (BadRequestException e) {
+                        rejected.incrementAndGet();
+                    }
+                    latencies[row] = System.nanoTime() - begin;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            clients.shutdown();
+
+            Arrays.sort(latencies);
+            long transactions = statistics.getSuccessfulTransactionCount();
+            assertTrue(transactions > 0);
+            System.out.printf("%s: %d inserts from %d clients, %.0f inserts/s, p50 %.1f ms, p99 %.1f ms, %d transactions, %d rejected%n",
+                    coalesce ? "group commit" : "per request", ROWS, CLIENTS, ROWS / seconds,
+                    latencies[ROWS / 2] / 1e6, latencies[(int) (ROWS * 0.99)] / 1e6, transactions, rejected.get());
+        }
+    }
+}
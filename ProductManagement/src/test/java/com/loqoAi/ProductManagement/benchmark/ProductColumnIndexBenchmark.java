@@ -0,0 +1,64 @@
+package com.loqoAi.ProductManagement.benchmark;
+
+import com.loqoAi.ProductManagement.Service.ProductColumnIndex;
+import com.loqoAi.ProductManagement.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency of filtered and sorted queries against the columnar index with a
+ * synthetic catalog. Run with
+ * {@code ./mvnw test -Dtest=ProductColumnIndexBenchmark -Dbenchmark.rows=2000000}.
+ */
+class ProductColumnIndexBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 2_000_000);
+    private static final int CATEGORIES = 500;
+
+    private final ProductColumnIndex productColumnIndex = new ProductColumnIndex();
+
+    @Test
+    void measureQueryLatency() {
+        long start = System.nanoTime();
+        Random random = new Random(42);
+        List<Product> batch = new ArrayList<>(10_000);
+        for (long id = 1; id <= ROWS; id++) {
+            batch.add(new Product(id, "Product" + id, "Category" + random.nextInt(CATEGORIES), 1 + random.nextInt(10_000) / 10.0,
+                    random.nextBoolean(), 1 + random.nextInt(40) / 10.0, new Date(1_700_000_000_000L + random.nextInt(1_000_000_000))));
+            if (batch.size() == 10_000) {
+                productColumnIndex.loadBatch(batch);
+                batch = new ArrayList<>(10_000);
+            }
+        }
+        productColumnIndex.loadBatch(batch);
+        productColumnIndex.loadComplete();
+        productColumnIndex.query(null, null, null, null, "price", false);
+        System.out.printf("loaded and sorted %d rows in %d ms%n", ROWS, (System.nanoTime() - start) / 1_000_000);
+
+        run("category + inStock, sort by rating desc", () -> productColumnIndex.query("Category7", null, null, true, "rating", true));
+        run("category + price range, sort by price", () -> productColumnIndex.query("Category7", 100.0, 300.0, null, "price", false));
+        run("category, sort by createdAt", () -> productColumnIndex.query("Category7", null, null, null, "createdAt", false));
+        run("narrow price range, sort by price (no category)", () -> productColumnIndex.query(null, 500.0, 500.5, null, "price", false));
+    }
+
+    private void run(String name, java.util.function.Supplier<List<Product>> query) {
+        for (int i = 0; i < 2_000; i++) {
+            query.get();
+        }
+        int iterations = 20_000;
+        long[] samples = new long[iterations];
+        int rows = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            rows = query.get().size();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        assertTrue(rows > 0);
+        System.out.printf("%s: %d rows, p50 %.1f us, p99 %.1f us%n", name, rows,
+                samples[iterations / 2] / 1000.0, samples[iterations * 99 / 100] / 1000.0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.loqoAi.ProductManagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loqoAi.ProductManagement.Service.ProductService;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation and latency per request for a 10k-row listing, entity path vs.
+ * projection path, including JSON serialization. Run with
+ * {@code ./mvnw test -Dtest=ProductViewBenchmark}.
+ */
+@SpringBootTest(properties = "products.cache.max-entries=0")
+class ProductViewBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 50);
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void compareEntityAndProjectionPaths() {
+        productRepository.deleteAllInBatch();
+        List<Product> products = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            products.add(new Product(null, "Product" + i, "Category1", 1 + i % 500, i % 2 == 0, 1 + i % 5, new Date()));
+        }
+        productService.saveAll(products);
+
+        measure("entities", () -> productService.getProducts("Category1", null, null, null, "price", "asc"));
+        measure("views", () -> productService.getProductViews("Category1", null, null, null, "price", "asc"));
+    }
+
+    private void measure(String name, Supplier<List<?>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 10; i++) {
+            serialize(query.get());
+        }
+
+        long[] latencies = new long[ITERATIONS];
+        long allocated = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            List<?> rows = query.get();
+            serialize(rows);
+            latencies[i] = System.nanoTime() - start;
+            allocated += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            assertEquals(ROWS, rows.size());
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%s: %d rows, %.1f MB allocated/request, p50 %.1f ms, p99 %.1f ms%n", name, ROWS,
+                allocated / (double) ITERATIONS / (1024 * 1024),
+                latencies[ITERATIONS / 2] / 1e6, latencies[ITERATIONS * 99 / 100] / 1e6);
+    }
+
+    private void serialize(List<?> rows) {
+        try {
+            objectMapper.writeValueAsBytes(rows);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.loqoAi.ProductManagement.benchmark;
+
+import com.loqoAi.ProductManagement.ProductManagementApplication;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test of the read endpoints with and without the virtual-threads profile.
+ * Each SQL statement is delayed by {@code benchmark.dbLatencyMs} to stand in for a
+ * MySQL round trip, so request threads spend their time blocked on JDBC.
+ * Run on a Java 21 runtime to include the virtual thread mode:
+ * {@code ./mvnw test -Dtest=VirtualThreadLoadBenchmark -Dbenchmark.clients=1000}.
+ */
+class VirtualThreadLoadBenchmark {
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 1000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final long DB_LATENCY_MS = Long.getLong("benchmark.dbLatencyMs", 20);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.poolSize", 400);
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        run("platform threads, /products/category", false, "/products/category?category=Category1");
+        run("platform threads, /products/async/category", false, "/products/async/category?category=Category1");
+        if (Runtime.version().feature() >= 21) {
+            run("virtual threads, /products/category", true, "/products/category?category=Category1");
+            run("virtual threads, /products/async/category", true, "/products/async/category?category=Category1");
+        } else {
+            System.out.println("virtual threads need a Java 21 runtime; skipped");
+        }
+    }
+
+    private void run(String name, boolean virtualThreads, String path) throws Exception {
+        SpringApplication application = new SpringApplication(ProductManagementApplication.class);
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--products.cache.max-entries=0",
+                "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + SlowDatabase.class.getName()));
+        // Same pool in both modes; the platform mode is then bounded by Tomcat's 200 threads.
+        args.add("--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE);
+        if (virtualThreads) {
+            args.add("--spring.profiles.active=virtual-threads");
+        }
+
+        try (ConfigurableApplicationContext context = application.run(args.toArray(new String[0]))) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + path);
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newFixedThreadPool(16))
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            fire(client, uri, Math.min(REQUESTS, 2_000));
+            long start = System.nanoTime();
+            long[] latencies = fire(client, uri, REQUESTS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%s: %d clients, %.0f req/s, p50 %d ms, p99 %d ms%n", name, CLIENTS,
+                    REQUESTS / seconds, latencies[latencies.length / 2] / 1_000_000,
+                    latencies[latencies.length * 99 / 100] / 1_000_000);
+        }
+    }
+
+    private long[] fire(HttpClient client, URI uri, int requests) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(CLIENTS);
+        CountDownLatch done = new CountDownLatch(requests);
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            client.sendAsync(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).build(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (error != null || response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        inFlight.release();
+                        done.countDown();
+                    });
+        }
+        done.await();
+        assertEquals(0, failures.get(), "failed requests");
+        return latencies;
+    }
+
+    public static class SlowDatabase implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            try {
+                Thread.sleep(DB_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sql;
+        }
+    }
+}
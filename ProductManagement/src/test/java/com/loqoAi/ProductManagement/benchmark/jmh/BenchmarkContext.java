@@ -0,0 +1,63 @@
+package com.loqoAi.ProductManagement.benchmark.jmh;
+
+import com.loqoAi.ProductManagement.ProductManagementApplication;
+import com.loqoAi.ProductManagement.model.Product;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Starts the application without a web server against an in-memory H2 database
+ * for the JMH benchmarks. Each benchmark fork is its own JVM, so each gets a fresh database.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return start(Duration.ZERO, properties);
+    }
+
+    /**
+     * @param statementLatency Delay added to every statement and commit, see {@link LatencyDataSource}.
+     */
+    static ConfigurableApplicationContext start(Duration statementLatency, String... properties) {
+        SpringApplication application = new SpringApplication(ProductManagementApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setLogStartupInfo(false);
+        if (!statementLatency.isZero()) {
+            application.addInitializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof HikariDataSource dataSource ? new LatencyDataSource(dataSource, statementLatency) : bean;
+                }
+            }));
+        }
+
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        args.addAll(Arrays.asList(properties));
+        return application.run(args.toArray(new String[0]));
+    }
+
+    static List<Product> products(String prefix, int count, int categories) {
+        Random random = new Random(prefix.hashCode());
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new Product(null, prefix + "-" + i, "Category" + (i % categories), 1 + random.nextInt(1000),
+                    random.nextBoolean(), 1 + random.nextInt(5), new Date(1_700_000_000_000L + random.nextInt(1_000_000_000))));
+        }
+        return products;
+    }
+}
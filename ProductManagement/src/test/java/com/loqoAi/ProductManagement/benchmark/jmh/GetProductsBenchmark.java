@@ -0,0 +1,60 @@
+package com.loqoAi.ProductManagement.benchmark.jmh;
+
+import com.loqoAi.ProductManagement.Service.ProductService;
+import com.loqoAi.ProductManagement.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductService.getProducts with different filter mixes, with and without the query cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GetProductsBenchmark {
+
+    @Param({"none", "category", "priceRange", "category+priceRange+inStock"})
+    private String filters;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+
+    private String category;
+    private Double minPrice;
+    private Double maxPrice;
+    private Boolean inStock;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--products.cache.max-entries=" + (cached ? 1000 : 0));
+        productService = context.getBean(ProductService.class);
+        productService.saveAll(BenchmarkContext.products("catalog", catalogSize, 50));
+
+        category = filters.contains("category") ? "Category7" : null;
+        minPrice = filters.contains("priceRange") ? 100.0 : null;
+        maxPrice = filters.contains("priceRange") ? 200.0 : null;
+        inStock = filters.contains("inStock") ? Boolean.TRUE : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> getProducts() {
+        return productService.getProducts(category, minPrice, maxPrice, inStock, "price", "asc");
+    }
+}
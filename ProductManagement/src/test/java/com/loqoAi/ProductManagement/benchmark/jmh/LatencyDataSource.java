@@ -0,0 +1,67 @@
+package com.loqoAi.ProductManagement.benchmark.jmh;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Adds a fixed delay to every statement execution and commit, standing in for the
+ * round trip and server-side work of a database on another host. The in-process H2
+ * database does its work on the benchmark's own cores, so without this, time the
+ * application would spend waiting on a real server shows up as CPU contention instead.
+ */
+final class LatencyDataSource extends DelegatingDataSource {
+
+    private final long latencyNanos;
+
+    LatencyDataSource(DataSource target, Duration latency) {
+        super(target);
+        this.latencyNanos = latency.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection(), Connection.class);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password), Connection.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T wrap(T target, Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (isRoundTrip(method)) {
+                LockSupport.parkNanos(latencyNanos);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            // Statements created by the connection are delayed too.
+            if (result instanceof Statement statement && method.getReturnType().isInterface()
+                    && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return wrap(statement, (Class<Statement>) method.getReturnType());
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private static boolean isRoundTrip(Method method) {
+        String name = method.getName();
+        return name.equals("commit") || name.startsWith("execute") && Statement.class.isAssignableFrom(method.getDeclaringClass());
+    }
+}
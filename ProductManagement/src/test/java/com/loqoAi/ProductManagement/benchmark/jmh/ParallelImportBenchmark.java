@@ -0,0 +1,73 @@
+package com.loqoAi.ProductManagement.benchmark.jmh;
+
+import com.loqoAi.ProductManagement.Service.ParallelProductImporter;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ParallelProductImporter.saveAll of a 20,000-row upload with 1 to 8 workers.
+ * Each worker holds its own pooled connection; divide the row count by the score
+ * for rows/ms. Point {@code spring.datasource.url} at MySQL (via -Djmh.args=-jvmArgs ...)
+ * to measure against a real server instead of H2.
+ *
+ * H2 runs in-process, so its work competes with the workers for the same cores.
+ * {@code statementLatencyMillis} adds a delay to every statement and commit, like the
+ * round trip and server-side time of a remote database, which is what the workers overlap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ParallelImportBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    @Param({"20000"})
+    private int rows;
+
+    @Param({"0", "20"})
+    private int statementLatencyMillis;
+
+    private ConfigurableApplicationContext context;
+    private ParallelProductImporter parallelProductImporter;
+    private ProductRepository productRepository;
+
+    private int invocation;
+    private List<Product> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(Duration.ofMillis(statementLatencyMillis),
+                "--products.bulk.parallelism=" + parallelism,
+                "--spring.datasource.hikari.maximum-pool-size=" + (parallelism + 2));
+        parallelProductImporter = context.getBean(ParallelProductImporter.class);
+        productRepository = context.getBean(ProductRepository.class);
+    }
+
+    // Each iteration is one upload into an empty table.
+    @Setup(Level.Iteration)
+    public void prepareBatch() {
+        productRepository.deleteAllInBatch();
+        batch = BenchmarkContext.products("parallel" + invocation++, rows, 50);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, List<Product>> saveAll() {
+        return parallelProductImporter.saveAll(batch);
+    }
+}
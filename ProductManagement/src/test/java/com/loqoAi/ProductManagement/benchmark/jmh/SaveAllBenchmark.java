@@ -0,0 +1,61 @@
+package com.loqoAi.ProductManagement.benchmark.jmh;
+
+import com.loqoAi.ProductManagement.Service.ProductService;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProductService.saveAll at several upload sizes. Every invocation uploads
+ * products that do not exist yet; divide the batch size by the score for rows/ms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveAllBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductRepository productRepository;
+
+    private int invocation;
+    private List<Product> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        productService = context.getBean(ProductService.class);
+        productRepository = context.getBean(ProductRepository.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTable() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBatch() {
+        batch = BenchmarkContext.products("upload" + invocation++, batchSize, 50);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, List<Product>> saveAll() {
+        return productService.saveAll(batch);
+    }
+}
@@ -0,0 +1,53 @@
+package com.loqoAi.ProductManagement.benchmark.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of large listing responses, configured like the
+ * ObjectMapper Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Product> products;
+    private List<ProductView> views;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkContext.products("serialize", rows, 50);
+        long id = 1;
+        for (Product product : products) {
+            product.setId(id++);
+        }
+        views = products.stream()
+                .map(p -> new ProductView(p.getId(), p.getName(), p.getCategory(), p.getPrice(), p.isInStock(), p.getRating(), p.getCreatedAt()))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] products() throws Exception {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] views() throws Exception {
+        return objectMapper.writeValueAsBytes(views);
+    }
+}
@@ -0,0 +1,83 @@
+package com.loqoAi.ProductManagement.benchmark.jmh;
+
+import com.loqoAi.ProductManagement.Service.BulkProductValidator;
+import com.loqoAi.ProductManagement.Service.ProductService;
+import com.loqoAi.ProductManagement.model.Product;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Sort;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of the request validation helpers: sort order parsing,
+ * the service's own product checks, the bulk upload checks and Bean Validation of a Product.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private final ProductService productService = new ProductService();
+    private final Product valid = new Product(null, "Product1", "Category1", 10.0, true, 4.0, new Date());
+    private final Product invalid = new Product(null, "Product1", "Category1", -10.0, true, 0.0, new Date());
+
+    private MethodHandle getSortDirection;
+    private MethodHandle validateProduct;
+    private Validator validator;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(ProductService.class, MethodHandles.lookup());
+        getSortDirection = lookup.findVirtual(ProductService.class, "getSortDirection",
+                MethodType.methodType(Sort.Direction.class, String.class));
+        validateProduct = lookup.findVirtual(ProductService.class, "validateProduct",
+                MethodType.methodType(void.class, Product.class));
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Benchmark
+    public Sort.Direction sortDirectionAsc() throws Throwable {
+        return (Sort.Direction) getSortDirection.invokeExact(productService, "asc");
+    }
+
+    @Benchmark
+    public Sort.Direction sortDirectionDesc() throws Throwable {
+        return (Sort.Direction) getSortDirection.invokeExact(productService, "DESC");
+    }
+
+    @Benchmark
+    public void validateProduct() throws Throwable {
+        validateProduct.invokeExact(productService, valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Product>> beanValidationValid() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Product>> beanValidationInvalid() {
+        return validator.validate(invalid);
+    }
+
+    @Benchmark
+    public String bulkCheckValid() {
+        return BulkProductValidator.check(valid);
+    }
+
+    @Benchmark
+    public String bulkCheckInvalid() {
+        return BulkProductValidator.check(invalid);
+    }
+}
@@ -0,0 +1,74 @@
+package com.loqoAi.ProductManagement.benchmark.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loqoAi.ProductManagement.Service.ProductBinaryCodec;
+import com.loqoAi.ProductManagement.model.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs. the binary columnar format for listing responses: encoding into a reused
+ * response buffer, and decoding on the client side. Payload sizes are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"100", "10000"})
+    private int rows;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<Product> products;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws Exception {
+        products = BenchmarkContext.products("wire", rows, 50);
+        long id = 1;
+        for (Product product : products) {
+            product.setId(id++);
+        }
+        json = objectMapper.writeValueAsBytes(products);
+        out.reset();
+        ProductBinaryCodec.write(products, out);
+        binary = out.toByteArray();
+        System.out.printf("%n%d rows: JSON %d bytes (%.1f/row), binary %d bytes (%.1f/row)%n", rows,
+                json.length, (double) json.length / rows, binary.length, (double) binary.length / rows);
+    }
+
+    @Benchmark
+    public int writeJson() throws Exception {
+        out.reset();
+        objectMapper.writeValue(out, products);
+        return out.size();
+    }
+
+    @Benchmark
+    public int writeBinary() throws Exception {
+        out.reset();
+        ProductBinaryCodec.write(products, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public List<Product> readJson() throws Exception {
+        return objectMapper.readValue(json, objectMapper.getTypeFactory().constructCollectionType(List.class, Product.class));
+    }
+
+    @Benchmark
+    public List<Product> readBinary() {
+        return ProductBinaryCodec.read(ByteBuffer.wrap(binary));
+    }
+}
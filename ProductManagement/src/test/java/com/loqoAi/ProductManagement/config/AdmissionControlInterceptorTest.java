@@ -0,0 +1,216 @@
+package com.loqoAi.ProductManagement.config;
+
+import com.loqoAi.ProductManagement.Exceptions.ServiceUnavailableException;
+import com.loqoAi.ProductManagement.Exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private AdmissionControlInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        // 1 request per second with bursts of 5 per client, and 100 for all clients without a
+        // listed key; one heavy and two light requests at a time.
+        interceptor = interceptor(100);
+    }
+
+    private AdmissionControlInterceptor interceptor(int anonymousBurst) {
+        meterRegistry = new SimpleMeterRegistry();
+        AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(1, 5,
+                Set.of("client-a", "client-b", "client-c"), 1, anonymousBurst, Set.of("10.0.0.1", "10.0.0.2"), 1000,
+                1, Duration.ofMillis(10), 2, Duration.ofMillis(10), Duration.ofSeconds(2));
+        interceptor.bindMetrics(meterRegistry);
+        return interceptor;
+    }
+
+    @Test
+    void testRateLimitsPerApiKey() {
+        for (int i = 0; i < 5; i++) {
+            admitAndComplete(request("GET", "/products/category", "client-a"));
+        }
+
+        TooManyRequestsException thrown = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("GET", "/products/category", "client-a"), response, null));
+        Duration retryAfter = thrown.getRetryAfter();
+        assertTrue(retryAfter.compareTo(Duration.ZERO) > 0 && retryAfter.compareTo(Duration.ofSeconds(1)) <= 0,
+                retryAfter::toString);
+
+        // Other keys and unkeyed clients have their own buckets.
+        admitAndComplete(request("GET", "/products/category", "client-b"));
+        admitAndComplete(request("GET", "/products/category", null));
+        assertEquals(1.0, meterRegistry.get("products.admission.rejections").tag("reason", "rate-limit").counter().count());
+        assertEquals(3.0, meterRegistry.get("products.admission.clients").gauge().value());
+    }
+
+    @Test
+    void testUnknownKeysShareAnonymousBucket() {
+        interceptor = interceptor(3);
+        // Unknown keys are limited by address like requests without a key, and add no buckets.
+        for (int i = 0; i < 3; i++) {
+            admitAndComplete(request("GET", "/products/category", "forged-" + i));
+        }
+        assertEquals(1.0, meterRegistry.get("products.admission.clients").gauge().value());
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("GET", "/products/category", "forged-3"), response, null));
+
+        // The shared bucket is empty for other addresses too, but not for listed keys.
+        MockHttpServletRequest otherAddress = request("GET", "/products/category", null);
+        otherAddress.setRemoteAddr("198.51.100.7");
+        assertThrows(TooManyRequestsException.class, () -> interceptor.preHandle(otherAddress, response, null));
+        admitAndComplete(request("GET", "/products/category", "client-a"));
+    }
+
+    @Test
+    void testForwardedForOnlyFromTrustedProxies() {
+        assertEquals("key:client-a", interceptor.clientOf(request("GET", "/products", "client-a")));
+        assertEquals("address:127.0.0.1", interceptor.clientOf(request("GET", "/products", "unknown")));
+
+        MockHttpServletRequest direct = request("GET", "/products", null);
+        direct.setRemoteAddr("198.51.100.7");
+        direct.addHeader(AdmissionControlInterceptor.FORWARDED_FOR_HEADER, "203.0.113.5");
+        assertEquals("198.51.100.7", interceptor.addressOf(direct));
+
+        MockHttpServletRequest proxied = request("GET", "/products", null);
+        proxied.setRemoteAddr("10.0.0.1");
+        assertEquals("10.0.0.1", interceptor.addressOf(proxied));
+        proxied.addHeader(AdmissionControlInterceptor.FORWARDED_FOR_HEADER, "203.0.113.5");
+        assertEquals("203.0.113.5", interceptor.addressOf(proxied));
+
+        // Addresses the client put in front of the proxies' are ignored.
+        MockHttpServletRequest spoofed = request("GET", "/products", null);
+        spoofed.setRemoteAddr("10.0.0.1");
+        spoofed.addHeader(AdmissionControlInterceptor.FORWARDED_FOR_HEADER, "192.0.2.1, 203.0.113.5");
+        spoofed.addHeader(AdmissionControlInterceptor.FORWARDED_FOR_HEADER, "10.0.0.2");
+        assertEquals("203.0.113.5", interceptor.addressOf(spoofed));
+    }
+
+    @Test
+    void testClientsBehindProxyHaveTheirOwnBuckets() {
+        for (int i = 0; i < 5; i++) {
+            admitAndComplete(forwarded("203.0.113.5"));
+        }
+        assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(forwarded("203.0.113.5"), response, null));
+        admitAndComplete(forwarded("203.0.113.6"));
+        assertEquals(2.0, meterRegistry.get("products.admission.clients").gauge().value());
+    }
+
+    @Test
+    void testHeavyRequestsDoNotTakeLightPermits() {
+        MockHttpServletRequest upload = request("POST", "/products/bulk-upload", "client-a");
+        assertTrue(interceptor.preHandle(upload, response, null));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(request("GET", "/products", "client-b"), response, null));
+        admitAndComplete(request("GET", "/products", "client-c", "category", "Books"));
+        assertEquals(1.0, meterRegistry.get("products.admission.in.flight").tag("bulkhead", "heavy").gauge().value());
+        assertEquals(1.0, meterRegistry.get("products.admission.rejections").tag("bulkhead", "heavy").counter().count());
+
+        interceptor.afterCompletion(upload, response, null, null);
+        assertEquals(0.0, meterRegistry.get("products.admission.in.flight").tag("bulkhead", "heavy").gauge().value());
+        admitAndComplete(request("GET", "/products/export", "client-b"));
+    }
+
+    @Test
+    void testAsyncRequestHoldsPermitUntilAsyncDispatchCompletes() {
+        MockHttpServletRequest first = request("GET", "/products/async/category", "client-a");
+        MockHttpServletRequest second = request("GET", "/products/async/category", "client-a");
+        assertTrue(interceptor.preHandle(first, response, null));
+        assertTrue(interceptor.preHandle(second, response, null));
+        // Async handling started: afterCompletion is not called for the first dispatch.
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(request("GET", "/products/category", "client-b"), response, null));
+
+        first.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(interceptor.preHandle(first, response, null));
+        interceptor.afterCompletion(first, response, null, null);
+        // A repeated completion does not release twice.
+        interceptor.afterCompletion(first, response, null, null);
+        assertEquals(1.0, meterRegistry.get("products.admission.in.flight").tag("bulkhead", "light").gauge().value());
+    }
+
+    @Test
+    void testClassifiesHeavyRequests() {
+        assertTrue(AdmissionControlInterceptor.isHeavy(request("POST", "/products/bulk-upload/stream", null)));
+        assertTrue(AdmissionControlInterceptor.isHeavy(request("POST", "/products/import-jobs", null)));
+        assertTrue(AdmissionControlInterceptor.isHeavy(request("GET", "/products/export", null)));
+        assertTrue(AdmissionControlInterceptor.isHeavy(request("GET", "/products/page", null, "sortField", "price")));
+        assertTrue(AdmissionControlInterceptor.isHeavy(request("GET", "/products/facets", null, "buckets", "20")));
+        assertFalse(AdmissionControlInterceptor.isHeavy(request("GET", "/products/facets", null, "category", "Books")));
+        assertTrue(AdmissionControlInterceptor.isHeavy(request("GET", "/products/search", null, "q", "phone")));
+        assertFalse(AdmissionControlInterceptor.isHeavy(request("GET", "/products/search", null, "category", "Books")));
+        assertFalse(AdmissionControlInterceptor.isHeavy(request("GET", "/products", null, "minPrice", "10")));
+        assertFalse(AdmissionControlInterceptor.isHeavy(request("POST", "/products", null)));
+        assertFalse(AdmissionControlInterceptor.isHeavy(request("GET", "/products/import-jobs/42", null)));
+        assertFalse(AdmissionControlInterceptor.isHeavy(request("GET", "/products/top", null)));
+    }
+
+    @Test
+    void testTokenBucketAdmitsRateUnderContention() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, 100, 0);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    // Everyone asks at the same instant: exactly the burst is admitted.
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.tryAcquire(1_000_000) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(100, admitted.get());
+        assertEquals(1_000_000, bucket.tryAcquire(1_000_000));
+    }
+
+    private void admitAndComplete(MockHttpServletRequest request) {
+        assertTrue(interceptor.preHandle(request, response, null));
+        interceptor.afterCompletion(request, response, null, null);
+    }
+
+    private static MockHttpServletRequest forwarded(String address) {
+        MockHttpServletRequest request = request("GET", "/products/category", null);
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(AdmissionControlInterceptor.FORWARDED_FOR_HEADER, address);
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String apiKey, String... parameter) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (apiKey != null) {
+            request.addHeader(AdmissionControlInterceptor.API_KEY_HEADER, apiKey);
+        }
+        if (parameter.length == 2) {
+            request.addParameter(parameter[0], parameter[1]);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,106 @@
+package com.loqoAi.ProductManagement.config;
+
+import com.loqoAi.ProductManagement.Service.ProductService;
+import com.loqoAi.ProductManagement.model.Product;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two embedded databases stand in for the primary and the replica. The replica gets
+ * the primary's schema but its own rows, so each read shows which database served it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "products.datasource.replica.jdbc-url=jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "products.datasource.replica.username=sa",
+        "products.datasource.replica.maximum-pool-size=2",
+        "products.datasource.replica-max-lag=300ms"
+})
+@DirtiesContext
+class DataSourceRoutingConfigTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("DROP ALL OBJECTS");
+        for (String statement : new JdbcTemplate(primaryDataSource).queryForList("SCRIPT NODATA", String.class)) {
+            if (!statement.startsWith("CREATE USER")) {
+                replica.execute(statement);
+            }
+        }
+        replica.update("INSERT INTO products (name, category, price, in_stock, rating, created_at) "
+                + "VALUES ('ReplicaProduct', 'Routing', 10.0, TRUE, 4.0, CURRENT_TIMESTAMP)");
+    }
+
+    @Test
+    void testReadsGoToReplicaAndWritesToPrimary() throws InterruptedException {
+        productService.addProduct(new Product(null, "PrimaryProduct", "Routing", 20.0, true, 4.5, new Date()));
+        // Past the read-your-writes window of the write.
+        Thread.sleep(400);
+
+        List<Product> products = productService.getProductsByCategory("Routing");
+        assertEquals(List.of("ReplicaProduct"), products.stream().map(Product::getName).toList());
+        assertEquals(1, new JdbcTemplate(primaryDataSource).queryForObject(
+                "SELECT COUNT(*) FROM products WHERE name = 'PrimaryProduct'", Integer.class));
+
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge());
+    }
+
+    @Test
+    void testReadsAfterWriteSeeItWhileReplicaLags() throws InterruptedException {
+        Thread.sleep(400);
+        // Cached from the replica before the write.
+        assertEquals(List.of(), names(productService.getProductsByCategory("Lagging")));
+
+        // The replica never receives the write: it lags for good.
+        productService.addProduct(new Product(null, "LaggingProduct", "Lagging", 20.0, true, 4.5, new Date()));
+
+        assertEquals(List.of("LaggingProduct"), names(productService.getProductsByCategory("Lagging")));
+        assertEquals(List.of("LaggingProduct"), names(productService.getProducts("Lagging", null, null, null, null, null)));
+        assertTrue(meterRegistry.counter("products.datasource.replica.recent.write.reads").count() >= 2);
+
+        // What was cached in the window came from the primary and stays valid afterwards.
+        Thread.sleep(400);
+        assertEquals(List.of("LaggingProduct"), names(productService.getProductsByCategory("Lagging")));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void testReadsFallBackToPrimaryWhenReplicaIsDown() throws InterruptedException {
+        productService.addProduct(new Product(null, "PrimaryProduct2", "Fallback", 20.0, true, 4.5, new Date()));
+        replicaDataSource.close();
+        Thread.sleep(400);
+
+        List<Product> products = productService.getProductsByPriceRange(15.0, 25.0);
+
+        assertTrue(products.stream().anyMatch(product -> product.getName().equals("PrimaryProduct2")));
+        assertTrue(meterRegistry.counter("products.datasource.replica.fallbacks").count() > 0);
+    }
+
+    private static List<String> names(List<Product> products) {
+        return products.stream().map(Product::getName).toList();
+    }
+}
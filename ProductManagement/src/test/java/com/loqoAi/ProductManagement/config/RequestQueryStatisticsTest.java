@@ -0,0 +1,40 @@
+package com.loqoAi.ProductManagement.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestQueryStatisticsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestQueryStatistics statistics = new RequestQueryStatistics(meterRegistry);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void testAsyncRequestCountsAsyncDispatchOnly() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products/async");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/products/async");
+
+        statistics.preHandle(request, response, null);
+        statistics.inspect("select 1");
+        statistics.afterConcurrentHandlingStarted(request, response, null);
+
+        // The servlet thread is free again: its later statements are not counted.
+        statistics.inspect("select 2");
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        statistics.preHandle(request, response, null);
+        statistics.inspect("select 3");
+        statistics.inspect("select 4");
+        statistics.afterCompletion(request, response, null, null);
+
+        var statements = meterRegistry.get("products.request.sql.statements").tag("uri", "/products/async").summary();
+        assertEquals(1, statements.count());
+        assertEquals(2.0, statements.totalAmount());
+    }
+}
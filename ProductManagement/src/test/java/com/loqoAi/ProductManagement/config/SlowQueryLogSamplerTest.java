@@ -0,0 +1,44 @@
+package com.loqoAi.ProductManagement.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogSamplerTest {
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+    @Test
+    void testSamplesOnlySlowQueryLog() {
+        SlowQueryLogSampler sampler = new SlowQueryLogSampler(0.1);
+        Logger slowQueries = loggerContext.getLogger(SlowQueryLogSampler.SLOW_QUERY_LOGGER);
+        Logger other = loggerContext.getLogger("com.loqoAi.ProductManagement");
+
+        int logged = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (sampler.decide(null, slowQueries, Level.INFO, "slow", null, null) == FilterReply.NEUTRAL) {
+                logged++;
+            }
+            assertEquals(FilterReply.NEUTRAL, sampler.decide(null, other, Level.INFO, "other", null, null));
+        }
+        int sampled = logged;
+        assertTrue(sampled > 800 && sampled < 1200, () -> sampled + " of 10000 logged");
+    }
+
+    @Test
+    void testInstallAndUninstall() {
+        SlowQueryLogSampler sampler = new SlowQueryLogSampler(0.0);
+        sampler.install();
+        try {
+            assertFalse(loggerContext.getLogger(SlowQueryLogSampler.SLOW_QUERY_LOGGER).isInfoEnabled());
+        } finally {
+            sampler.uninstall();
+        }
+        assertFalse(loggerContext.getTurboFilterList().contains(sampler));
+    }
+}
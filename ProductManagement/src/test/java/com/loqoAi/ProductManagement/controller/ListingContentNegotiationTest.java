@@ -0,0 +1,119 @@
+package com.loqoAi.ProductManagement.controller;
+
+import com.loqoAi.ProductManagement.Service.ProductBinaryCodec;
+import com.loqoAi.ProductManagement.Service.ProductService;
+import com.loqoAi.ProductManagement.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The same listing in JSON and in the binary format are different representations, so
+ * each gets its own ETag, and a tag only answers 304 for the format it was issued for.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListingContentNegotiationTest {
+
+    private static final String BINARY = ProductBinaryCodec.MEDIA_TYPE;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        if (productService.getProductsByCategory("Negotiated").isEmpty()) {
+            productService.addProduct(new Product(null, "NegotiatedProduct", "Negotiated", 10.0, true, 4.0, new Date()));
+        }
+    }
+
+    @Test
+    void testFormatsHaveTheirOwnEtag() throws Exception {
+        testFormatsHaveTheirOwnEtag("/products/category");
+    }
+
+    @Test
+    void testAsyncFormatsHaveTheirOwnEtag() throws Exception {
+        testFormatsHaveTheirOwnEtag("/products/async/category");
+    }
+
+    @Test
+    void testListingsWithoutBinaryFormatAreTaggedAsJson() throws Exception {
+        MockHttpServletResponse response = perform(get("/products/page").param("category", "Negotiated")
+                .header(HttpHeaders.ACCEPT, BINARY + ", application/json;q=0.5"));
+        assertEquals(200, response.getStatus());
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType())));
+        assertTrue(response.getHeader(HttpHeaders.ETAG).endsWith("-json\""), response.getHeader(HttpHeaders.ETAG));
+    }
+
+    private void testFormatsHaveTheirOwnEtag(String uri) throws Exception {
+        MockHttpServletResponse json = perform(listing(uri, MediaType.APPLICATION_JSON_VALUE, null));
+        assertEquals(200, json.getStatus());
+        assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(json.getContentType())));
+        assertTrue(json.getContentAsString().contains("NegotiatedProduct"));
+        assertEquals(List.of(HttpHeaders.ACCEPT), json.getHeaders(HttpHeaders.VARY));
+        String jsonEtag = json.getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse binary = perform(listing(uri, BINARY + ", application/json;q=0.5", null));
+        assertEquals(200, binary.getStatus());
+        assertEquals(BINARY, binary.getContentType());
+        assertEquals("NegotiatedProduct",
+                ProductBinaryCodec.read(ByteBuffer.wrap(binary.getContentAsByteArray())).get(0).getName());
+        assertEquals(List.of(HttpHeaders.ACCEPT), binary.getHeaders(HttpHeaders.VARY));
+        String binaryEtag = binary.getHeader(HttpHeaders.ETAG);
+        assertNotEquals(jsonEtag, binaryEtag);
+
+        // JSON is the default, and is tagged as such.
+        assertEquals(jsonEtag, perform(listing(uri, MediaType.ALL_VALUE, null)).getHeader(HttpHeaders.ETAG));
+        assertEquals(jsonEtag, perform(listing(uri, BINARY + ";q=0.5, application/json", null)).getHeader(HttpHeaders.ETAG));
+
+        for (String[] format : new String[][]{{MediaType.APPLICATION_JSON_VALUE, jsonEtag}, {BINARY, binaryEtag}}) {
+            MockHttpServletResponse notModified = perform(listing(uri, format[0], format[1]));
+            assertEquals(304, notModified.getStatus());
+            assertEquals(format[1], notModified.getHeader(HttpHeaders.ETAG));
+            assertEquals(List.of(HttpHeaders.ACCEPT), notModified.getHeaders(HttpHeaders.VARY));
+            assertEquals(0, notModified.getContentLength());
+        }
+
+        // A tag only matches the format it was issued for.
+        MockHttpServletResponse other = perform(listing(uri, BINARY, jsonEtag));
+        assertEquals(200, other.getStatus());
+        assertEquals(BINARY, other.getContentType());
+        assertEquals(binaryEtag, other.getHeader(HttpHeaders.ETAG));
+        other = perform(listing(uri, MediaType.APPLICATION_JSON_VALUE, binaryEtag));
+        assertEquals(200, other.getStatus());
+        assertEquals(jsonEtag, other.getHeader(HttpHeaders.ETAG));
+    }
+
+    private static MockHttpServletRequestBuilder listing(String uri, String accept, String ifNoneMatch) {
+        MockHttpServletRequestBuilder request = get(uri).param("category", "Negotiated").header(HttpHeaders.ACCEPT, accept);
+        return ifNoneMatch != null ? request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch) : request;
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse();
+    }
+}
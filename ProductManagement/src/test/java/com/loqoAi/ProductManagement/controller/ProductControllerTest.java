@@ -1,5 +1,9 @@
 package com.loqoAi.ProductManagement.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loqoAi.ProductManagement.Exceptions.BadRequestException;
+import com.loqoAi.ProductManagement.Service.CatalogVersions;
+import com.loqoAi.ProductManagement.Service.ProductsChangedEvent;
 import com.loqoAi.ProductManagement.Service.ProductService;
 import com.loqoAi.ProductManagement.model.Product;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,10 +11,20 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.util.*;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -21,6 +35,15 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Spy
+    private AsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private CatalogVersions catalogVersions = new CatalogVersions();
+
     @InjectMocks
     private ProductController productController;
 
@@ -50,7 +73,7 @@ class ProductControllerTest {
         Map<String, List<Product>> result = Map.of("savedProducts", products, "existingProducts", new ArrayList<>());
         when(productService.saveAll(anyList())).thenReturn(result);
 
-        ResponseEntity<Map<String, List<Product>>> response = productController.bulkUpload(products);
+        ResponseEntity<Map<String, List<Product>>> response = productController.bulkUpload(products, false);
 
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -66,7 +89,7 @@ class ProductControllerTest {
         when(productService.getProducts(anyString(), anyDouble(), anyDouble(), anyBoolean(), anyString(), anyString()))
                 .thenReturn(products);
 
-        ResponseEntity<List<Product>> response = productController.getProducts("Category1", 50.0, 150.0, true, "price", "asc");
+        ResponseEntity<List<Product>> response = productController.getProducts("Category1", 50.0, 150.0, true, "price", "asc", webRequest());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -80,7 +103,7 @@ class ProductControllerTest {
         List<Product> products = Collections.singletonList(product);
         when(productService.getProductsByCategory(anyString())).thenReturn(products);
 
-        ResponseEntity<List<Product>> response = productController.getProductsByCategory("Category1");
+        ResponseEntity<List<Product>> response = productController.getProductsByCategory("Category1", webRequest());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -94,11 +117,107 @@ class ProductControllerTest {
         List<Product> products = Collections.singletonList(product);
         when(productService.getProductsByPriceRange(anyDouble(), anyDouble())).thenReturn(products);
 
-        ResponseEntity<List<Product>> response = productController.getProductsByPriceRange(50.0, 150.0);
+        ResponseEntity<List<Product>> response = productController.getProductsByPriceRange(50.0, 150.0, webRequest());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals(1, response.getBody().size());
         assertEquals("Product1", response.getBody().get(0).getName());
     }
+
+    @Test
+    void testGetProductsByCategoryAsync() {
+        Product product = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(productService.getProductsByCategory(anyString())).thenReturn(Collections.singletonList(product));
+
+        ResponseEntity<List<Product>> response = productController.getProductsByCategoryAsync("Category1", webRequest()).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+    }
+
+    @Test
+    void testGetTopProducts() {
+        Product product = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, new Date());
+        when(productService.getTopProducts("Category1", "rating", 20)).thenReturn(List.of(product));
+
+        ResponseEntity<List<Product>> response = productController.getTopProducts("Category1", "rating", 20, webRequest());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(product), response.getBody());
+        assertNotNull(response.getHeaders().getETag());
+    }
+
+    @Test
+    void testExportProducts_Ndjson() throws Exception {
+        Product first = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, null);
+        Product second = new Product(2L, "Product2", "Category1", 120.0, false, 4.0, null);
+        when(productService.exportProducts("Category1", null, null, null, null, "asc")).thenReturn(sink -> {
+            sink.accept(first);
+            sink.accept(second);
+            return 2;
+        });
+
+        ResponseEntity<StreamingResponseBody> response =
+                productController.exportProducts("Category1", null, null, null, null, "asc", "ndjson");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(objectMapper.writeValueAsString(first), lines[0]);
+        assertEquals(objectMapper.writeValueAsString(second), lines[1]);
+    }
+
+    @Test
+    void testExportProducts_JsonArray() throws Exception {
+        Product product = new Product(1L, "Product1", "Category1", 100.0, true, 4.5, null);
+        when(productService.exportProducts(null, null, null, null, null, "asc")).thenReturn(sink -> {
+            sink.accept(product);
+            return 1;
+        });
+
+        ResponseEntity<StreamingResponseBody> response =
+                productController.exportProducts(null, null, null, null, null, "asc", "json");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(objectMapper.writeValueAsString(List.of(product)), output.toString());
+        assertThrows(BadRequestException.class,
+                () -> productController.exportProducts(null, null, null, null, null, "asc", "xml"));
+    }
+
+    @Test
+    void testGetProductsByCategory_NotModifiedUntilCategoryChanges() {
+        when(productService.getProductsByCategory("Category1")).thenReturn(List.of());
+        String etag = productController.getProductsByCategory("Category1", webRequest()).getHeaders().getETag();
+
+        ResponseEntity<List<Product>> response = productController.getProductsByCategory("Category1", webRequest(etag));
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(productService, times(1)).getProductsByCategory("Category1");
+
+        catalogVersions.onProductsChanged(new ProductsChangedEvent(List.of(
+                new Product(2L, "Product2", "Category2", 10.0, true, 4.0, new Date()))));
+        assertEquals(HttpStatus.NOT_MODIFIED, productController.getProductsByCategory("Category1", webRequest(etag)).getStatusCode());
+
+        catalogVersions.onProductsChanged(new ProductsChangedEvent(List.of(
+                new Product(3L, "Product3", "Category1", 10.0, true, 4.0, new Date()))));
+        response = productController.getProductsByCategory("Category1", webRequest(etag));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+        assertNotNull(response.getHeaders().getCacheControl());
+        verify(productService, times(2)).getProductsByCategory("Category1");
+    }
+
+    private ServletWebRequest webRequest() {
+        return webRequest(null);
+    }
+
+    private ServletWebRequest webRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
 }
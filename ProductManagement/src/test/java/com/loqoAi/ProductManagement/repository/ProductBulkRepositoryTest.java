@@ -0,0 +1,77 @@
+package com.loqoAi.ProductManagement.repository;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductKey;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Duplicate checks resolve (name, category) through the natural-id cache. Each
+ * repository call runs in its own transaction, so repeats are served by the
+ * second-level cache rather than the persistence context.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductBulkRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.saveAll(List.of(
+                new Product(null, "Product1", "Category1", 10.0, true, 4.0, new Date()),
+                new Product(null, "Product2", "Category1", 20.0, true, 4.0, new Date()),
+                new Product(null, "Product1", "Category2", 30.0, false, 3.0, new Date())));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testNaturalIdLookupIsCached() {
+        assertTrue(productRepository.findByNameAndCategory("Product1", "Category2").isPresent());
+        long statements = statistics.getPrepareStatementCount();
+
+        Optional<Product> product = productRepository.findByNameAndCategory("Product1", "Category2");
+
+        assertEquals(30.0, product.orElseThrow().getPrice());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+        assertTrue(productRepository.findByNameAndCategory("Product3", "Category1").isEmpty());
+    }
+
+    @Test
+    void testFindExistingKeysUsesNaturalIdCache() {
+        Set<ProductKey> keys = Set.of(new ProductKey("Product1", "Category1"), new ProductKey("Product2", "Category1"),
+                new ProductKey("Product2", "Category2"));
+        assertEquals(Set.of(new ProductKey("Product1", "Category1"), new ProductKey("Product2", "Category1")),
+                productRepository.findExistingKeys(keys));
+        long hits = statistics.getNaturalIdCacheHitCount();
+
+        assertEquals(Set.of(new ProductKey("Product1", "Category1"), new ProductKey("Product2", "Category1")),
+                productRepository.findExistingKeys(keys));
+        assertTrue(statistics.getNaturalIdCacheHitCount() >= hits + 2);
+    }
+}
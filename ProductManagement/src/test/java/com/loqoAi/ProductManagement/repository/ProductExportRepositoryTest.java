@@ -0,0 +1,52 @@
+package com.loqoAi.ProductManagement.repository;
+
+import com.loqoAi.ProductManagement.model.Product;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProductExportRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            products.add(new Product(null, "Product" + i, "Category" + (i % 2), (i + 1) * 10.0, i % 3 == 0, 4.0, new Date()));
+        }
+        productRepository.saveAll(products);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testStreamsInOrderAndDetachesProducts() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "price").and(Sort.by(Sort.Direction.DESC, "id"));
+        List<Double> prices = new ArrayList<>();
+
+        try (Stream<Product> products = productRepository.streamAll(ProductSpecifications.filters("Category0", null, null, null), sort, 4)) {
+            products.forEach(product -> {
+                assertFalse(entityManager.contains(product));
+                prices.add(product.getPrice());
+            });
+        }
+
+        assertEquals(13, prices.size());
+        assertEquals(250.0, prices.get(0));
+        assertEquals(10.0, prices.get(12));
+    }
+}
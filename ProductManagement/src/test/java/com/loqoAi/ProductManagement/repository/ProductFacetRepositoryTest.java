@@ -0,0 +1,85 @@
+package com.loqoAi.ProductManagement.repository;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductFacets;
+import com.loqoAi.ProductManagement.model.ProductFacets.CategoryFacet;
+import com.loqoAi.ProductManagement.model.ProductFacets.PriceBucket;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProductFacetRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.saveAll(List.of(
+                new Product(null, "Product1", "Category1", 10.0, true, 4.0, new Date()),
+                new Product(null, "Product2", "Category1", 20.0, false, 3.0, new Date()),
+                new Product(null, "Product3", "Category1", 30.0, true, 5.0, new Date()),
+                new Product(null, "Product4", "Category2", 50.0, true, 2.0, new Date())));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFacetsWithoutFilters() {
+        ProductFacets facets = productRepository.findFacets(ProductSpecifications.filters(null, null, null, null), 4);
+
+        assertEquals(4, facets.count());
+        assertEquals(3, facets.inStockCount());
+        assertEquals(0.75, facets.inStockRatio());
+        assertEquals(new ProductFacets.Stats(10.0, 50.0, 27.5), facets.price());
+        assertEquals(new ProductFacets.Stats(2.0, 5.0, 3.5), facets.rating());
+        assertEquals(List.of(
+                new CategoryFacet("Category1", 3, 2, 2.0 / 3),
+                new CategoryFacet("Category2", 1, 1, 1.0)), facets.categories());
+        assertEquals(List.of(
+                new PriceBucket(10.0, 20.0, 1),
+                new PriceBucket(20.0, 30.0, 1),
+                new PriceBucket(30.0, 40.0, 1),
+                new PriceBucket(40.0, 50.0, 1)), facets.priceHistogram());
+    }
+
+    @Test
+    void testFacetsWithFilters() {
+        ProductFacets facets = productRepository.findFacets(ProductSpecifications.filters("Category1", null, 25.0, null), 10);
+
+        assertEquals(2, facets.count());
+        assertEquals(List.of(new CategoryFacet("Category1", 2, 1, 0.5)), facets.categories());
+        assertEquals(10, facets.priceHistogram().size());
+        assertEquals(2, facets.priceHistogram().stream().mapToLong(PriceBucket::count).sum());
+        assertEquals(1, facets.priceHistogram().get(9).count());
+    }
+
+    @Test
+    void testFacetsWithoutMatches() {
+        ProductFacets facets = productRepository.findFacets(ProductSpecifications.filters("Missing", null, null, null), 10);
+
+        assertEquals(0, facets.count());
+        assertNull(facets.price().min());
+        assertTrue(facets.categories().isEmpty());
+        assertTrue(facets.priceHistogram().isEmpty());
+    }
+
+    @Test
+    void testWriteMarkers() {
+        long maxId = productRepository.findAll().stream().mapToLong(Product::getId).max().orElseThrow();
+
+        assertEquals(maxId, productRepository.findMaxId());
+        assertEquals(List.of("Category2"), productRepository.findCategoriesByIdGreaterThan(maxId - 1));
+        assertEquals(List.of(), productRepository.findCategoriesByIdGreaterThan(maxId));
+    }
+}
@@ -0,0 +1,107 @@
+package com.loqoAi.ProductManagement.repository;
+
+import com.loqoAi.ProductManagement.model.Product;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for each filter combination and
+ * checks that the embedded database picks the matching index.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.loqoAi.ProductManagement.repository.ProductQueryPlanTest$SqlRecorder")
+class ProductQueryPlanTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            products.add(new Product(null, "Product" + i, "Category" + (i % 40), 1 + i % 500,
+                    i % 10 == 0, 1 + i % 5, new Date(1_700_000_000_000L + i * 1000L)));
+        }
+        // ANALYZE commits in H2, so the rows outlive the test transaction.
+        productRepository.deleteAllInBatch();
+        productRepository.insertAll(products);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void testCategoryFilterUsesCategoryIndex() {
+        assertPlanUses("idx_products_category_", "Category1", null, null, null);
+        assertPlanUses("idx_products_category_price", "Category1", 10.0, 20.0, null);
+    }
+
+    @Test
+    void testPriceFilterUsesPriceIndex() {
+        assertPlanUses("idx_products_price", null, 10.0, 20.0, null);
+    }
+
+    @Test
+    void testInStockFilterUsesInStockIndex() {
+        assertPlanUses("idx_products_in_stock_price", null, null, null, true);
+        assertPlanUses("idx_products_in_stock_price", null, 10.0, 20.0, true);
+    }
+
+    @Test
+    void testUnfilteredListingReadsCreatedAtIndexInOrder() {
+        assertPlanUses("idx_products_created_at", null, null, null, null);
+    }
+
+    @Test
+    void testDuplicateLookupUsesUniqueKey() {
+        SqlRecorder.STATEMENTS.clear();
+        productRepository.findByNameAndCategory("Product1", "Category1");
+
+        assertTrue(explain(lastStatement(), "Product1", "Category1").contains("uk_products_name_category"));
+    }
+
+    private void assertPlanUses(String index, String category, Double minPrice, Double maxPrice, Boolean inStock) {
+        SqlRecorder.STATEMENTS.clear();
+        productRepository.findAll(ProductSpecifications.filters(category, minPrice, maxPrice, inStock), Sort.by("createdAt"));
+
+        // Parameters are bound in the order the filters are added to the query.
+        List<Object> args = new ArrayList<>();
+        for (Object arg : new Object[]{category, minPrice, maxPrice, inStock}) {
+            if (arg != null) {
+                args.add(arg);
+            }
+        }
+        String sql = lastStatement();
+        String plan = explain(sql, args.toArray());
+        assertTrue(plan.contains(index), () -> "Expected " + index + " for " + sql + " but got " + plan);
+    }
+
+    private String explain(String sql, Object... args) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args).toLowerCase(Locale.ROOT);
+    }
+
+    private String lastStatement() {
+        return SqlRecorder.STATEMENTS.get(SqlRecorder.STATEMENTS.size() - 1);
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.loqoAi.ProductManagement.repository;
+
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProductSpecificationsTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 57; i++) {
+            // Few distinct values so that the id tiebreaker is exercised.
+            products.add(new Product(null, "Product" + (i % 7), "Category" + (i / 7), 10.0 * (i % 5 + 1),
+                    i % 2 == 0, i % 4 + 1, new Date(1_700_000_000_000L + (i % 6) * 1000L)));
+        }
+        productRepository.saveAll(products);
+    }
+
+    @Test
+    void testKeysetWalkVisitsEveryRowOnce() {
+        for (String sortField : List.of("createdAt", "price", "rating", "name")) {
+            for (Sort.Direction direction : Sort.Direction.values()) {
+                Sort sort = Sort.by(direction, sortField).and(Sort.by(direction, "id"));
+                List<Product> expected = productRepository.findAll(ProductSpecifications.filters(null, null, 100.0, null), sort);
+
+                List<Product> walked = new ArrayList<>();
+                ProductCursor cursor = null;
+                while (true) {
+                    Specification<Product> spec = ProductSpecifications.filters(null, null, 100.0, null);
+                    if (cursor != null) {
+                        spec = spec.and(ProductSpecifications.after(ProductCursor.decode(cursor.encode())));
+                    }
+                    List<Product> page = productRepository.findBy(spec, query -> query.sortBy(sort).limit(4).all());
+                    if (page.isEmpty()) {
+                        break;
+                    }
+                    walked.addAll(page);
+                    cursor = ProductCursor.after(page.get(page.size() - 1), sortField, direction.isDescending());
+                }
+
+                assertEquals(expected, walked, sortField + " " + direction);
+            }
+        }
+    }
+
+    @Test
+    void testFiltersCombine() {
+        List<Product> result = productRepository.findAll(ProductSpecifications.filters("Category0", 20.0, 40.0, true));
+
+        assertFalse(result.isEmpty());
+        for (Product product : result) {
+            assertEquals("Category0", product.getCategory());
+            assertTrue(product.getPrice() >= 20.0 && product.getPrice() <= 40.0);
+            assertTrue(product.isInStock());
+        }
+    }
+}
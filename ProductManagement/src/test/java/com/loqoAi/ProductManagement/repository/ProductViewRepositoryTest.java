@@ -0,0 +1,55 @@
+package com.loqoAi.ProductManagement.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loqoAi.ProductManagement.model.Product;
+import com.loqoAi.ProductManagement.model.ProductView;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ProductViewRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.saveAll(List.of(
+                new Product(null, "Product1", "Category1", 30.0, true, 4.5, new Date(1_700_000_000_000L)),
+                new Product(null, "Product2", "Category1", 10.0, false, 3.5, new Date(1_700_000_001_000L)),
+                new Product(null, "Product3", "Category2", 20.0, true, 2.5, new Date(1_700_000_002_000L))));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testViewsMatchEntitiesWithoutManagingThem() throws Exception {
+        Sort sort = Sort.by(Sort.Direction.DESC, "price");
+
+        List<ProductView> views = productRepository.findViews(ProductSpecifications.filters("Category1", null, null, null), sort);
+
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        List<Product> entities = productRepository.findAll(ProductSpecifications.filters("Category1", null, null, null), sort);
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals(objectMapper.writeValueAsString(entities), objectMapper.writeValueAsString(views));
+    }
+
+    @Test
+    void testViewsWithoutFilters() {
+        List<ProductView> views = productRepository.findViews(ProductSpecifications.filters(null, null, null, null), Sort.by("rating"));
+
+        assertEquals(List.of("Product3", "Product2", "Product1"), views.stream().map(ProductView::name).toList());
+    }
+}